@@ -6,11 +6,15 @@ import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
 
+import com.furdei.furdroid.floatingmenu.animation.AlphaPropertyAnimationProvider;
 import com.furdei.furdroid.floatingmenu.animation.ResourceAnimationProvider;
 import com.furdei.furdroid.floatingmenu.bottom.BottomFloatingMenuController;
 import com.furdei.furdroid.floatingmenu.bottom.BottomFloatingMenuControllerFactory;
+import com.furdei.furdroid.floatingmenu.bottom.BottomMenuAnimationProvider;
 import com.furdei.furdroid.floatingmenu.bottom.ContainerCloseAnimationProvider;
+import com.furdei.furdroid.floatingmenu.bottom.ContainerClosePropertyAnimationProvider;
 import com.furdei.furdroid.floatingmenu.bottom.ContainerOpenAnimationProvider;
+import com.furdei.furdroid.floatingmenu.bottom.ContainerOpenPropertyAnimationProvider;
 import com.furdei.furdroid.floatingmenu.layout.HierarchicalContainerMenuLayoutManager;
 
 /**
@@ -48,6 +52,8 @@ public class BottomMenuBuilder extends FloatingMenuBuilder {
     private View menuOverlay;
     private AnimationProvider overlayOpenAnimationProvider;
     private AnimationProvider overlayCloseAnimationProvider;
+    private PropertyAnimationProvider overlayOpenPropertyAnimationProvider;
+    private PropertyAnimationProvider overlayClosePropertyAnimationProvider;
 
     public BottomMenuBuilder(Activity activity) {
         super(activity);
@@ -60,12 +66,36 @@ public class BottomMenuBuilder extends FloatingMenuBuilder {
         setOpenedButtonDrawable(R.drawable.ic_close_menu);
         setClosedButtonDrawable(R.drawable.ic_open_menu);
         setMenuContainer(R.id.quick_menu_container);
-        setOpenAnimationProvider(new ContainerOpenAnimationProvider());
-        setCloseAnimationProvider(new ContainerCloseAnimationProvider());
-        setOverlayOpenAnimationProvider(
-                new ResourceAnimationProvider(activity, R.anim.alpha_open));
-        setOverlayCloseAnimationProvider(
-                new ResourceAnimationProvider(activity, R.anim.alpha_close));
+        setPropertyAnimationsEnabled(false);
+    }
+
+    /**
+     * Switches a menu and a window shadow overlay between default animations and default
+     * property animators. Animations are used by default. Property animators change real view
+     * properties, can be reversed mid-flight and are driven by a single animation clock of
+     * a controller. Replaces animation providers set before.
+     *
+     * @param enabled <code>true</code> to animate with property animators
+     * @return Link to the same {@link BottomMenuBuilder} instance to chain calls
+     */
+    public BottomMenuBuilder setPropertyAnimationsEnabled(boolean enabled) {
+        if (enabled) {
+            setOpenPropertyAnimationProvider(new ContainerOpenPropertyAnimationProvider());
+            setClosePropertyAnimationProvider(new ContainerClosePropertyAnimationProvider());
+            setOverlayOpenPropertyAnimationProvider(new AlphaPropertyAnimationProvider(
+                    0f, 1f, BottomMenuAnimationProvider.DEFAULT_DURATION));
+            setOverlayClosePropertyAnimationProvider(new AlphaPropertyAnimationProvider(
+                    1f, 0f, BottomMenuAnimationProvider.DEFAULT_DURATION));
+        } else {
+            setOpenAnimationProvider(new ContainerOpenAnimationProvider());
+            setCloseAnimationProvider(new ContainerCloseAnimationProvider());
+            setOverlayOpenAnimationProvider(
+                    new ResourceAnimationProvider(getActivity(), R.anim.alpha_open));
+            setOverlayCloseAnimationProvider(
+                    new ResourceAnimationProvider(getActivity(), R.anim.alpha_close));
+        }
+
+        return this;
     }
 
     /**
@@ -182,12 +212,16 @@ public class BottomMenuBuilder extends FloatingMenuBuilder {
      * Animation provider that creates animation to play upon a window shadow overlay while
      * menu is being opened. Alpha animation is the most common example here.
      *
+     * Resets a property animation provider set by
+     * {@link #setOverlayOpenPropertyAnimationProvider(PropertyAnimationProvider)}.
+     *
      * @param overlayOpenAnimationProvider an animation provider for window overlay
      * @return Link to the same {@link BottomMenuBuilder} instance to chain calls
      */
     public BottomMenuBuilder setOverlayOpenAnimationProvider(
             AnimationProvider overlayOpenAnimationProvider) {
         this.overlayOpenAnimationProvider = overlayOpenAnimationProvider;
+        this.overlayOpenPropertyAnimationProvider = null;
         return this;
     }
 
@@ -203,12 +237,62 @@ public class BottomMenuBuilder extends FloatingMenuBuilder {
      * Animation provider that creates animation to play upon a window shadow overlay while
      * menu is being closed. Alpha animation is the most common example here.
      *
+     * Resets a property animation provider set by
+     * {@link #setOverlayClosePropertyAnimationProvider(PropertyAnimationProvider)}.
+     *
      * @param overlayCloseAnimationProvider an animation provider for window overlay
      * @return Link to the same {@link BottomMenuBuilder} instance to chain calls
      */
     public BottomMenuBuilder setOverlayCloseAnimationProvider(
             AnimationProvider overlayCloseAnimationProvider) {
         this.overlayCloseAnimationProvider = overlayCloseAnimationProvider;
+        this.overlayClosePropertyAnimationProvider = null;
+        return this;
+    }
+
+    /**
+     * Property animation provider that creates an animator to play upon a window shadow overlay
+     * while menu is being opened. Fades the overlay in by default.
+     */
+    public PropertyAnimationProvider getOverlayOpenPropertyAnimationProvider() {
+        return overlayOpenPropertyAnimationProvider;
+    }
+
+    /**
+     * Property animation provider that creates an animator to play upon a window shadow overlay
+     * while menu is being opened. Resets an animation provider set by
+     * {@link #setOverlayOpenAnimationProvider(AnimationProvider)}.
+     *
+     * @param overlayOpenAnimationProvider a property animation provider for window overlay
+     * @return Link to the same {@link BottomMenuBuilder} instance to chain calls
+     */
+    public BottomMenuBuilder setOverlayOpenPropertyAnimationProvider(
+            PropertyAnimationProvider overlayOpenAnimationProvider) {
+        this.overlayOpenPropertyAnimationProvider = overlayOpenAnimationProvider;
+        this.overlayOpenAnimationProvider = null;
+        return this;
+    }
+
+    /**
+     * Property animation provider that creates an animator to play upon a window shadow overlay
+     * while menu is being closed. Fades the overlay out by default.
+     */
+    public PropertyAnimationProvider getOverlayClosePropertyAnimationProvider() {
+        return overlayClosePropertyAnimationProvider;
+    }
+
+    /**
+     * Property animation provider that creates an animator to play upon a window shadow overlay
+     * while menu is being closed. Resets an animation provider set by
+     * {@link #setOverlayCloseAnimationProvider(AnimationProvider)}.
+     *
+     * @param overlayCloseAnimationProvider a property animation provider for window overlay
+     * @return Link to the same {@link BottomMenuBuilder} instance to chain calls
+     */
+    public BottomMenuBuilder setOverlayClosePropertyAnimationProvider(
+            PropertyAnimationProvider overlayCloseAnimationProvider) {
+        this.overlayClosePropertyAnimationProvider = overlayCloseAnimationProvider;
+        this.overlayCloseAnimationProvider = null;
         return this;
     }
 
@@ -224,6 +308,10 @@ public class BottomMenuBuilder extends FloatingMenuBuilder {
         bottomController.setMenuOverlay(menuOverlay);
         bottomController.setOverlayOpenAnimationProvider(overlayOpenAnimationProvider);
         bottomController.setOverlayCloseAnimationProvider(overlayCloseAnimationProvider);
+        bottomController.setOverlayOpenPropertyAnimationProvider(
+                overlayOpenPropertyAnimationProvider);
+        bottomController.setOverlayClosePropertyAnimationProvider(
+                overlayClosePropertyAnimationProvider);
         bottomController.replaceWindowView();
     }
 }
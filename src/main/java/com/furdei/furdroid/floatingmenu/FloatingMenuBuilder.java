@@ -13,9 +13,11 @@ import android.view.ViewGroup;
 import android.widget.PopupMenu;
 
 import com.furdei.furdroid.floatingmenu.animation.ResourceAnimationProvider;
+import com.furdei.furdroid.floatingmenu.base.BaseFloatingMenuController;
 import com.furdei.furdroid.floatingmenu.base.BaseFloatingMenuControllerFactory;
 import com.furdei.furdroid.components.graphics.drawable.TintedDrawable;
 import com.furdei.furdroid.floatingmenu.internal.PaletteUtils;
+import com.furdei.furdroid.floatingmenu.layout.BaseMenuLayoutManager;
 import com.furdei.furdroid.floatingmenu.layout.FlatMenuLayoutManager;
 
 /**
@@ -166,6 +168,10 @@ public class FloatingMenuBuilder {
     private AnimationProvider closeAnimationProvider;
     private AnimationProvider buttonOpenAnimationProvider;
     private AnimationProvider buttonCloseAnimationProvider;
+    private PropertyAnimationProvider openPropertyAnimationProvider;
+    private PropertyAnimationProvider closePropertyAnimationProvider;
+    private PropertyAnimationProvider buttonOpenPropertyAnimationProvider;
+    private PropertyAnimationProvider buttonClosePropertyAnimationProvider;
     private FloatingMenuController controller;
     private Drawable closedButtonDrawable;
     private Drawable openedButtonDrawable;
@@ -450,11 +456,15 @@ public class FloatingMenuBuilder {
      * shown. This animation will be applied to a menu container specified by
      * {@link #setMenuContainer(android.view.ViewGroup)} method.
      *
+     * Resets a property animation provider set by
+     * {@link #setOpenPropertyAnimationProvider(PropertyAnimationProvider)}.
+     *
      * @param openAnimationProvider - animation provider object or <code>null</code>
      * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
      */
     public FloatingMenuBuilder setOpenAnimationProvider(AnimationProvider openAnimationProvider) {
         this.openAnimationProvider = openAnimationProvider;
+        this.openPropertyAnimationProvider = null;
         return this;
     }
 
@@ -488,11 +498,15 @@ public class FloatingMenuBuilder {
      * hidden. This animation will be applied to a menu container specified by
      * {@link #setMenuContainer(android.view.ViewGroup)} method.
      *
+     * Resets a property animation provider set by
+     * {@link #setClosePropertyAnimationProvider(PropertyAnimationProvider)}.
+     *
      * @param closeAnimationProvider - animation provider object or <code>null</code>
      * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
      */
     public FloatingMenuBuilder setCloseAnimationProvider(AnimationProvider closeAnimationProvider) {
         this.closeAnimationProvider = closeAnimationProvider;
+        this.closePropertyAnimationProvider = null;
         return this;
     }
 
@@ -526,12 +540,16 @@ public class FloatingMenuBuilder {
      * shown. This animation will be applied to an 'open/close' button specified by
      * {@link #setOpenCloseButton(android.view.View)} method.
      *
+     * Resets a property animation provider set by
+     * {@link #setButtonOpenPropertyAnimationProvider(PropertyAnimationProvider)}.
+     *
      * @param openAnimationProvider - animation object or <code>null</code>
      * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
      */
     public FloatingMenuBuilder setButtonOpenAnimationProvider(
             AnimationProvider openAnimationProvider) {
         buttonOpenAnimationProvider = openAnimationProvider;
+        buttonOpenPropertyAnimationProvider = null;
         return this;
     }
 
@@ -565,12 +583,16 @@ public class FloatingMenuBuilder {
      * hidden. This animation will be applied to an 'open/close' button specified by
      * {@link #setOpenCloseButton(android.view.View)} method.
      *
+     * Resets a property animation provider set by
+     * {@link #setButtonClosePropertyAnimationProvider(PropertyAnimationProvider)}.
+     *
      * @param closeAnimationProvider - animation provider object or <code>null</code>
      * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
      */
     public FloatingMenuBuilder setButtonCloseAnimationProvider(
             AnimationProvider closeAnimationProvider) {
         buttonCloseAnimationProvider = closeAnimationProvider;
+        buttonClosePropertyAnimationProvider = null;
         return this;
     }
 
@@ -587,6 +609,118 @@ public class FloatingMenuBuilder {
                 activity, closeAnimationResId));
     }
 
+    /**
+     * Returns an 'open menu' property animation provider. Animator created by this provider
+     * will be applied to a menu container specified by
+     * {@link #setMenuContainer(android.view.ViewGroup)} method.
+     *
+     * @return 'open menu' property animation provider or <code>null</code> if it has not been set
+     */
+    public PropertyAnimationProvider getOpenPropertyAnimationProvider() {
+        return openPropertyAnimationProvider;
+    }
+
+    /**
+     * Specify a property animation provider which creates an animator to play when menu is going
+     * to be shown. This animator will be applied to a menu container specified by
+     * {@link #setMenuContainer(android.view.ViewGroup)} method. Resets an animation provider set
+     * by {@link #setOpenAnimationProvider(AnimationProvider)}. Property animators are
+     * played by controllers extending {@link BaseFloatingMenuController} only.
+     *
+     * @param openAnimationProvider - property animation provider object or <code>null</code>
+     * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
+     */
+    public FloatingMenuBuilder setOpenPropertyAnimationProvider(
+            PropertyAnimationProvider openAnimationProvider) {
+        this.openPropertyAnimationProvider = openAnimationProvider;
+        this.openAnimationProvider = null;
+        return this;
+    }
+
+    /**
+     * Returns a 'close menu' property animation provider. Animator created by this provider
+     * will be applied to a menu container specified by
+     * {@link #setMenuContainer(android.view.ViewGroup)} method.
+     *
+     * @return 'close menu' property animation provider or <code>null</code> if it has not been set
+     */
+    public PropertyAnimationProvider getClosePropertyAnimationProvider() {
+        return closePropertyAnimationProvider;
+    }
+
+    /**
+     * Specify a property animation provider which creates an animator to play when menu is going
+     * to be hidden. This animator will be applied to a menu container specified by
+     * {@link #setMenuContainer(android.view.ViewGroup)} method. Resets an animation provider set
+     * by {@link #setCloseAnimationProvider(AnimationProvider)}. Property animators are
+     * played by controllers extending {@link BaseFloatingMenuController} only.
+     *
+     * @param closeAnimationProvider - property animation provider object or <code>null</code>
+     * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
+     */
+    public FloatingMenuBuilder setClosePropertyAnimationProvider(
+            PropertyAnimationProvider closeAnimationProvider) {
+        this.closePropertyAnimationProvider = closeAnimationProvider;
+        this.closeAnimationProvider = null;
+        return this;
+    }
+
+    /**
+     * Returns an 'open menu' property animation provider. Animator created by this provider
+     * will be applied to an 'open/close' button specified by
+     * {@link #setOpenCloseButton(android.view.View)} method.
+     *
+     * @return 'open menu' property animation provider or <code>null</code> if it has not been set
+     */
+    public PropertyAnimationProvider getButtonOpenPropertyAnimationProvider() {
+        return buttonOpenPropertyAnimationProvider;
+    }
+
+    /**
+     * Specify a property animation provider which creates an animator to play when menu is going
+     * to be shown. This animator will be applied to an 'open/close' button specified by
+     * {@link #setOpenCloseButton(android.view.View)} method. Resets an animation provider set
+     * by {@link #setButtonOpenAnimationProvider(AnimationProvider)}. Property animators are
+     * played by controllers extending {@link BaseFloatingMenuController} only.
+     *
+     * @param openAnimationProvider - property animation provider object or <code>null</code>
+     * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
+     */
+    public FloatingMenuBuilder setButtonOpenPropertyAnimationProvider(
+            PropertyAnimationProvider openAnimationProvider) {
+        buttonOpenPropertyAnimationProvider = openAnimationProvider;
+        buttonOpenAnimationProvider = null;
+        return this;
+    }
+
+    /**
+     * Returns a 'close menu' property animation provider. Animator created by this provider
+     * will be applied to an 'open/close' button specified by
+     * {@link #setOpenCloseButton(android.view.View)} method.
+     *
+     * @return 'close menu' property animation provider or <code>null</code> if it has not been set
+     */
+    public PropertyAnimationProvider getButtonClosePropertyAnimationProvider() {
+        return buttonClosePropertyAnimationProvider;
+    }
+
+    /**
+     * Specify a property animation provider which creates an animator to play when menu is going
+     * to be hidden. This animator will be applied to an 'open/close' button specified by
+     * {@link #setOpenCloseButton(android.view.View)} method. Resets an animation provider set
+     * by {@link #setButtonCloseAnimationProvider(AnimationProvider)}. Property animators are
+     * played by controllers extending {@link BaseFloatingMenuController} only.
+     *
+     * @param closeAnimationProvider - property animation provider object or <code>null</code>
+     * @return Link to the same {@link FloatingMenuBuilder} instance to chain calls
+     */
+    public FloatingMenuBuilder setButtonClosePropertyAnimationProvider(
+            PropertyAnimationProvider closeAnimationProvider) {
+        buttonClosePropertyAnimationProvider = closeAnimationProvider;
+        buttonCloseAnimationProvider = null;
+        return this;
+    }
+
     /**
      * Returns a factory used to instantiate menu controllers.
      *
@@ -731,6 +865,11 @@ public class FloatingMenuBuilder {
         Menu menu = popupMenu.getMenu();
         MenuInflater inflater = new MenuInflater(activity);
         inflater.inflate(menuResId, menu);
+
+        if (menuLayoutManager instanceof BaseMenuLayoutManager) {
+            ((BaseMenuLayoutManager) menuLayoutManager).onMenuInflated(menuResId);
+        }
+
         int itemsCount = menu.size();
 
         for (int i = 0; i < itemsCount; i++) {
@@ -738,6 +877,10 @@ public class FloatingMenuBuilder {
             buildMenuItem(item, menuContainer);
         }
 
+        if (menuLayoutManager instanceof BaseMenuLayoutManager) {
+            ((BaseMenuLayoutManager) menuLayoutManager).onMenuBuilt(menuContainer);
+        }
+
         return controller;
     }
 
@@ -756,6 +899,18 @@ public class FloatingMenuBuilder {
         controller.setContainerCloseAnimationProvider(closeAnimationProvider);
         controller.setButtonOpenAnimationProvider(buttonOpenAnimationProvider);
         controller.setButtonCloseAnimationProvider(buttonCloseAnimationProvider);
+
+        if (controller instanceof BaseFloatingMenuController) {
+            BaseFloatingMenuController baseController = (BaseFloatingMenuController) controller;
+            baseController.setContainerOpenPropertyAnimationProvider(
+                    openPropertyAnimationProvider);
+            baseController.setContainerClosePropertyAnimationProvider(
+                    closePropertyAnimationProvider);
+            baseController.setButtonOpenPropertyAnimationProvider(
+                    buttonOpenPropertyAnimationProvider);
+            baseController.setButtonClosePropertyAnimationProvider(
+                    buttonClosePropertyAnimationProvider);
+        }
     }
 
     /**
@@ -0,0 +1,44 @@
+package com.furdei.furdroid.floatingmenu;
+
+import android.view.View;
+
+/**
+ * <p>
+ * Raises platform performance hints while a menu is being animated, e.g. a preferred display
+ * refresh rate or a performance hint session with a target frame duration, and releases them
+ * when an animation is over.
+ * </p><p>
+ * A menu controller calls these methods on the main thread. Implementations must not assume
+ * that {@link #end()} follows {@link #begin(View, long)} only once: a running animation can be
+ * cancelled or restarted at any moment. Platform APIs newer than the minimal API level of your
+ * application, like <code>PerformanceHintManager</code>, should be used by an implementation
+ * only after checking <code>Build.VERSION.SDK_INT</code>, and a controller can be left without
+ * hints on older devices.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public interface PerformanceHints {
+
+    /**
+     * Called when a menu animation starts
+     *
+     * @param view animated view
+     * @param duration expected animation duration in milliseconds
+     */
+    void begin(View view, long duration);
+
+    /**
+     * Called every animation frame on the main thread
+     *
+     * @param frameTime time since the previous animation frame in nanoseconds
+     */
+    void reportFrame(long frameTime);
+
+    /**
+     * Called when a menu animation ends or is cancelled. All the hints should be released, though
+     * an implementation may keep them for a short while in case another animation follows.
+     */
+    void end();
+
+}
@@ -0,0 +1,32 @@
+package com.furdei.furdroid.floatingmenu;
+
+import android.animation.ValueAnimator;
+import android.view.View;
+
+/**
+ * <p>
+ * Property animation counterpart of {@link AnimationProvider}. Animators built by
+ * implementations of this interface change real view properties like
+ * {@link View#setTranslationY(float) translationY} or {@link View#setAlpha(float) alpha}
+ * instead of computing a transformation for every frame, so a view keeps it's animated state
+ * after animation ends.
+ * </p><p>
+ * A menu controller prefers a property animation provider over an {@link AnimationProvider}
+ * if both are specified for the same animation.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public interface PropertyAnimationProvider {
+
+    /**
+     * Get animator for a view. You can build an animator here or just return previously built
+     * instance if it targets the same view.
+     *
+     * @param view a view to animate
+     * @return animator object which targets <code>view</code>. Animation starts from the
+     *      animator's start values whatever the view's current state is.
+     */
+    ValueAnimator get(View view);
+
+}
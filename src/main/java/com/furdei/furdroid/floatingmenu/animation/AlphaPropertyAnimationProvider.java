@@ -0,0 +1,31 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
+import android.view.View;
+
+/**
+ * Animates view's {@link View#setAlpha(float) alpha}. Used to fade a window overlay in and out
+ * by default.
+ *
+ * @author Stepan Furdey
+ */
+public class AlphaPropertyAnimationProvider extends BasePropertyAnimationProvider {
+
+    private final float fromAlpha;
+    private final float toAlpha;
+    private final long duration;
+
+    public AlphaPropertyAnimationProvider(float fromAlpha, float toAlpha, long duration) {
+        this.fromAlpha = fromAlpha;
+        this.toAlpha = toAlpha;
+        this.duration = duration;
+    }
+
+    @Override
+    protected ValueAnimator createAnimator(View view) {
+        ObjectAnimator animator = ObjectAnimator.ofFloat(view, View.ALPHA, fromAlpha, toAlpha);
+        animator.setDuration(duration);
+        return animator;
+    }
+}
@@ -0,0 +1,106 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.res.Configuration;
+import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+
+import com.furdei.furdroid.floatingmenu.internal.KeyedPool;
+
+/**
+ * <p>
+ * Process-wide cache of animations loaded from resources. Animation XML is parsed only when
+ * there is no idle animation for a resource id, so menus built with the same animation
+ * resources share parsed instances.
+ * </p><p>
+ * {@link android.view.animation.Animation Animation} is stateful and can't run on two views
+ * at once. An animation handed out by {@link #obtain(Context, int)} is busy until it's given
+ * back with {@link #release(Animation)}, which resets it and clears its listener. The pool
+ * keeps strong references to idle animations only, at most {@link #MAX_POOLED_ANIMATIONS} per
+ * resource id, so an animation which is never released is collected together with whoever
+ * uses it. The only context kept is the application one. This class has to be used from
+ * the main thread only.
+ * </p><p>
+ * Parsed animations depend on a configuration, e.g. on density, locale or layout direction.
+ * The pool forgets all of it's animations when a configuration changes and when the system asks
+ * to trim memory.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public class AnimationPool {
+
+    public static final int MAX_POOLED_ANIMATIONS = 4;
+
+    private static Context applicationContext;
+
+    private static final ComponentCallbacks2 componentCallbacks = new ComponentCallbacks2() {
+        @Override
+        public void onConfigurationChanged(Configuration newConfig) {
+            clear();
+        }
+
+        @Override
+        public void onLowMemory() {
+            clear();
+        }
+
+        @Override
+        public void onTrimMemory(int level) {
+            clear();
+        }
+    };
+
+    private static final KeyedPool<Animation> pool =
+            new KeyedPool<Animation>(MAX_POOLED_ANIMATIONS) {
+                @Override
+                protected Animation create(int animationResourceId) {
+                    return AnimationUtils.loadAnimation(applicationContext, animationResourceId);
+                }
+
+                @Override
+                protected void reset(Animation animation) {
+                    animation.reset();
+                    animation.setAnimationListener(null);
+                }
+            };
+
+    private AnimationPool() {
+    }
+
+    /**
+     * Returns an animation which is not used by any view
+     *
+     * @param context context to load animation resources
+     * @param animationResourceId animation resource id
+     * @return an idle animation reset to it's initial state
+     */
+    public static Animation obtain(Context context, int animationResourceId) {
+        if (applicationContext == null) {
+            applicationContext = context.getApplicationContext();
+            applicationContext.registerComponentCallbacks(componentCallbacks);
+        }
+
+        return pool.obtain(animationResourceId);
+    }
+
+    /**
+     * Gives an animation back to the pool. An animation must not be attached to a view any more.
+     * Animations which haven't been obtained from the pool or have been released already are
+     * ignored.
+     *
+     * @param animation animation to release
+     */
+    public static void release(Animation animation) {
+        pool.release(animation);
+    }
+
+    /**
+     * Drops all the cached animations. Called on configuration changes and memory trimming.
+     * Animations which are busy at the moment are not given back to the pool any more.
+     */
+    public static void clear() {
+        pool.clear();
+    }
+}
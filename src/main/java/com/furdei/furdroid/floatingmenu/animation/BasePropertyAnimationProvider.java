@@ -0,0 +1,74 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+import android.animation.TimeInterpolator;
+import android.animation.ValueAnimator;
+import android.view.View;
+
+import com.furdei.furdroid.floatingmenu.PropertyAnimationProvider;
+
+/**
+ * Implementation of
+ * {@link com.furdei.furdroid.floatingmenu.PropertyAnimationProvider PropertyAnimationProvider}
+ * which builds an animator once per target view and returns the same instance afterwards.
+ *
+ * @author Stepan Furdey
+ */
+public abstract class BasePropertyAnimationProvider implements PropertyAnimationProvider {
+
+    private ValueAnimator animator;
+    private View target;
+    private TimeInterpolator interpolator;
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public ValueAnimator get(View view) {
+        if (animator == null || target != view) {
+            animator = createAnimator(view);
+            target = view;
+
+            if (interpolator != null) {
+                animator.setInterpolator(interpolator);
+            }
+        }
+
+        return animator;
+    }
+
+    public TimeInterpolator getInterpolator() {
+        return interpolator;
+    }
+
+    /**
+     * Replaces a default interpolator of animators built by this provider, e.g. with
+     * a {@link LookupTableInterpolator} or a {@link SpringInterpolator}.
+     *
+     * @param interpolator interpolator to use or <code>null</code> for a default one
+     */
+    public void setInterpolator(TimeInterpolator interpolator) {
+        this.interpolator = interpolator;
+
+        if (animator != null && interpolator != null) {
+            animator.setInterpolator(interpolator);
+        }
+    }
+
+    /**
+     * Returns an animator built by the last {@link #get(View)} call
+     *
+     * @return animator or <code>null</code> if no animator has been built yet
+     */
+    protected ValueAnimator getAnimator() {
+        return animator;
+    }
+
+    /**
+     * Build a new animator for a view
+     *
+     * @param view a view to animate
+     * @return a new animator
+     */
+    protected abstract ValueAnimator createAnimator(View view);
+
+}
@@ -0,0 +1,101 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+import android.animation.TimeInterpolator;
+import android.view.animation.AccelerateInterpolator;
+import android.view.animation.DecelerateInterpolator;
+import android.view.animation.Interpolator;
+
+/**
+ * Interpolator which samples another interpolator into a table once and then interpolates
+ * linearly between samples. There is no <code>Math.pow</code> or any other costly call per
+ * animation frame. Suits both view animations and property animators.
+ *
+ * @author Stepan Furdey
+ */
+public class LookupTableInterpolator implements Interpolator {
+
+    public static final int DEFAULT_SAMPLE_COUNT = 257;
+
+    /**
+     * Tabulated {@link DecelerateInterpolator}. The curve is computed here, so that the table
+     * doesn't need framework classes to be built.
+     */
+    public static final LookupTableInterpolator DECELERATE =
+            new LookupTableInterpolator(new TimeInterpolator() {
+                @Override
+                public float getInterpolation(float input) {
+                    return 1f - (1f - input) * (1f - input);
+                }
+            });
+
+    /**
+     * Tabulated {@link AccelerateInterpolator}
+     */
+    public static final LookupTableInterpolator ACCELERATE =
+            new LookupTableInterpolator(new TimeInterpolator() {
+                @Override
+                public float getInterpolation(float input) {
+                    return input * input;
+                }
+            });
+
+    private final float[] values;
+
+    public LookupTableInterpolator(TimeInterpolator source) {
+        this(source, DEFAULT_SAMPLE_COUNT);
+    }
+
+    /**
+     * Samples an interpolator
+     *
+     * @param source interpolator to sample
+     * @param sampleCount number of samples evenly spread over [0, 1] range, at least 2
+     */
+    public LookupTableInterpolator(TimeInterpolator source, int sampleCount) {
+        this(sample(source, sampleCount));
+    }
+
+    /**
+     * Creates an interpolator from already computed samples
+     *
+     * @param values interpolated values evenly spread over [0, 1] input range, at least 2
+     */
+    protected LookupTableInterpolator(float[] values) {
+        if (values.length < 2) {
+            throw new IllegalArgumentException("At least 2 samples are required");
+        }
+
+        this.values = values;
+    }
+
+    @Override
+    public float getInterpolation(float input) {
+        int lastIndex = values.length - 1;
+
+        if (input <= 0f) {
+            return values[0];
+        } else if (input >= 1f) {
+            return values[lastIndex];
+        }
+
+        float position = input * lastIndex;
+        int index = (int) position;
+        float weight = position - index;
+        return values[index] + (values[index + 1] - values[index]) * weight;
+    }
+
+    private static float[] sample(TimeInterpolator source, int sampleCount) {
+        if (sampleCount < 2) {
+            throw new IllegalArgumentException("At least 2 samples are required");
+        }
+
+        float[] values = new float[sampleCount];
+        int lastIndex = sampleCount - 1;
+
+        for (int i = 0; i < sampleCount; i++) {
+            values[i] = source.getInterpolation((float) i / lastIndex);
+        }
+
+        return values;
+    }
+}
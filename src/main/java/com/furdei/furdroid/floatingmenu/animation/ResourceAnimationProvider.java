@@ -1,18 +1,35 @@
 package com.furdei.furdroid.floatingmenu.animation;
 
 import android.content.Context;
-import android.view.animation.AnimationUtils;
+import android.view.animation.Animation;
 
 /**
  * Implementation of {@link com.furdei.furdroid.floatingmenu.AnimationProvider AnimationProvider}
- * which loads animation from resources.
+ * which loads animation from resources. Animations are taken from {@link AnimationPool}, so
+ * animation XML is not parsed again by every menu, and every call returns an animation
+ * which is not running on another view. An animation set by
+ * {@link #setAnimation(android.view.animation.Animation)} is returned instead if there is one.
  *
  * @author Stepan Furdey
  */
 public class ResourceAnimationProvider extends StaticAnimationProvider {
 
+    private final Context context;
+    private final int animationResourceId;
+
     public ResourceAnimationProvider(Context context, int animationResourceId) {
-        super(AnimationUtils.loadAnimation(context, animationResourceId));
+        this.context = context.getApplicationContext();
+        this.animationResourceId = animationResourceId;
+    }
+
+    @Override
+    public Animation get() {
+        Animation animation = super.get();
+        return animation != null ? animation : AnimationPool.obtain(context, animationResourceId);
+    }
+
+    public int getAnimationResourceId() {
+        return animationResourceId;
     }
 
 }
@@ -0,0 +1,32 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+import android.animation.ObjectAnimator;
+import android.animation.ValueAnimator;
+import android.view.View;
+
+/**
+ * Animates view's {@link View#setRotation(float) rotation}. Useful to turn an 'open/close' button
+ * while a menu is being opened or closed.
+ *
+ * @author Stepan Furdey
+ */
+public class RotationPropertyAnimationProvider extends BasePropertyAnimationProvider {
+
+    private final float fromDegrees;
+    private final float toDegrees;
+    private final long duration;
+
+    public RotationPropertyAnimationProvider(float fromDegrees, float toDegrees, long duration) {
+        this.fromDegrees = fromDegrees;
+        this.toDegrees = toDegrees;
+        this.duration = duration;
+    }
+
+    @Override
+    protected ValueAnimator createAnimator(View view) {
+        ObjectAnimator animator =
+                ObjectAnimator.ofFloat(view, View.ROTATION, fromDegrees, toDegrees);
+        animator.setDuration(duration);
+        return animator;
+    }
+}
@@ -0,0 +1,118 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+/**
+ * Damped spring simulation. The target can be changed at any moment, a spring then heads to
+ * a new target keeping it's current position and velocity, so motion never jumps. Nothing is
+ * allocated while stepping, so a spring can be driven from an animation frame callback.
+ * Default rest thresholds are tuned for positions in pixels.
+ *
+ * @author Stepan Furdey
+ */
+public class Spring {
+
+    public static final float DEFAULT_STIFFNESS = 400f;
+    public static final float DEFAULT_DAMPING_RATIO = 1f;
+    public static final float DEFAULT_POSITION_THRESHOLD = 0.5f;
+    public static final float DEFAULT_VELOCITY_THRESHOLD = 10f;
+
+    /**
+     * Simulation is split into steps not longer than this to stay stable on stiff springs
+     */
+    private static final float MAX_STEP = 1f / 240f;
+
+    private final float stiffness;
+    private final float damping;
+    private float position;
+    private float velocity;
+    private float target;
+    private float positionThreshold;
+    private float velocityThreshold;
+
+    public Spring() {
+        this(DEFAULT_STIFFNESS, DEFAULT_DAMPING_RATIO);
+    }
+
+    /**
+     * Creates a new spring
+     *
+     * @param stiffness spring stiffness, a square of it's natural angular frequency
+     * @param dampingRatio 1.0f for a critically damped spring, less for a bouncy one
+     */
+    public Spring(float stiffness, float dampingRatio) {
+        this.stiffness = stiffness;
+        this.damping = 2f * dampingRatio * (float) Math.sqrt(stiffness);
+        this.positionThreshold = DEFAULT_POSITION_THRESHOLD;
+        this.velocityThreshold = DEFAULT_VELOCITY_THRESHOLD;
+    }
+
+    public float getPosition() {
+        return position;
+    }
+
+    public void setPosition(float position) {
+        this.position = position;
+    }
+
+    public float getVelocity() {
+        return velocity;
+    }
+
+    /**
+     * @param velocity velocity in position units per second
+     */
+    public void setVelocity(float velocity) {
+        this.velocity = velocity;
+    }
+
+    public float getTarget() {
+        return target;
+    }
+
+    /**
+     * Retargets a spring. Position and velocity are kept.
+     *
+     * @param target new rest position
+     */
+    public void setTarget(float target) {
+        this.target = target;
+    }
+
+    /**
+     * Specifies when a spring is considered to be at rest
+     *
+     * @param positionThreshold maximum distance to the target
+     * @param velocityThreshold maximum velocity in position units per second
+     */
+    public void setRestThresholds(float positionThreshold, float velocityThreshold) {
+        this.positionThreshold = positionThreshold;
+        this.velocityThreshold = velocityThreshold;
+    }
+
+    /**
+     * Advances simulation
+     *
+     * @param seconds time passed since the previous step
+     */
+    public void step(float seconds) {
+        while (seconds > 0f) {
+            float step = Math.min(seconds, MAX_STEP);
+            float acceleration = stiffness * (target - position) - damping * velocity;
+            velocity += acceleration * step;
+            position += velocity * step;
+            seconds -= step;
+        }
+    }
+
+    public boolean isAtRest() {
+        return Math.abs(target - position) < positionThreshold
+                && Math.abs(velocity) < velocityThreshold;
+    }
+
+    /**
+     * Puts a spring to rest at it's target
+     */
+    public void snapToTarget() {
+        position = target;
+        velocity = 0f;
+    }
+}
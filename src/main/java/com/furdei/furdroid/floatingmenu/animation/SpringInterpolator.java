@@ -0,0 +1,56 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+/**
+ * Spring motion precomputed into a lookup table. Spring stiffness is chosen so that the motion
+ * settles by the end of an animation, whatever the animation duration is. Use it with any menu
+ * animation or animator to get a spring-like open or close. Unlike a {@link Spring} the motion
+ * can't be retargeted: a menu toggled mid-flight plays the same curve backwards from it's
+ * current progress, so velocity is not preserved.
+ *
+ * @author Stepan Furdey
+ */
+public class SpringInterpolator extends LookupTableInterpolator {
+
+    public static final float DEFAULT_DAMPING_RATIO = 0.6f;
+
+    /**
+     * Spring oscillation envelope decays to this part of the distance by the end of an animation
+     */
+    private static final float SETTLE_RATIO = 0.001f;
+
+    public SpringInterpolator() {
+        this(DEFAULT_DAMPING_RATIO);
+    }
+
+    /**
+     * Creates a new interpolator
+     *
+     * @param dampingRatio from 0.0f exclusive to 1.0f inclusive, 1.0f means no overshoot
+     */
+    public SpringInterpolator(float dampingRatio) {
+        super(simulate(dampingRatio, DEFAULT_SAMPLE_COUNT));
+    }
+
+    private static float[] simulate(float dampingRatio, int sampleCount) {
+        if (dampingRatio <= 0f || dampingRatio > 1f) {
+            throw new IllegalArgumentException("Damping ratio has to be in (0, 1] range");
+        }
+
+        // envelope is exp(-dampingRatio * frequency * t), make it reach SETTLE_RATIO at t = 1
+        float frequency = (float) -Math.log(SETTLE_RATIO) / dampingRatio;
+        Spring spring = new Spring(frequency * frequency, dampingRatio);
+        spring.setTarget(1f);
+
+        float[] values = new float[sampleCount];
+        int lastIndex = sampleCount - 1;
+        float step = 1f / lastIndex;
+
+        for (int i = 0; i < lastIndex; i++) {
+            values[i] = spring.getPosition();
+            spring.step(step);
+        }
+
+        values[lastIndex] = 1f;
+        return values;
+    }
+}
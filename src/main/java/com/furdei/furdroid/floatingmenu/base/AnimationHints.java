@@ -0,0 +1,65 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.view.View;
+
+import com.furdei.furdroid.floatingmenu.PerformanceHints;
+
+/**
+ * Raises {@link PerformanceHints} for the length of a menu animation. Makes sure hints are
+ * ended once for every begin and turns frame times into frame intervals.
+ *
+ * @author Stepan Furdey
+ */
+class AnimationHints {
+
+    private PerformanceHints performanceHints;
+    private boolean isHinting;
+    private long lastFrameTime;
+
+    PerformanceHints getPerformanceHints() {
+        return performanceHints;
+    }
+
+    /**
+     * Replaces hints, hints raised by an animation which is running are ended
+     *
+     * @param performanceHints new hints or <code>null</code>
+     */
+    void setPerformanceHints(PerformanceHints performanceHints) {
+        end();
+        this.performanceHints = performanceHints;
+    }
+
+    void begin(View view, long duration) {
+        if (performanceHints == null) {
+            return;
+        }
+
+        end();
+        isHinting = true;
+        lastFrameTime = 0;
+        performanceHints.begin(view, duration);
+    }
+
+    /**
+     * @param frameTime frame time in nanoseconds
+     */
+    void onAnimationFrame(long frameTime) {
+        if (!isHinting) {
+            return;
+        }
+
+        if (lastFrameTime != 0) {
+            performanceHints.reportFrame(frameTime - lastFrameTime);
+        }
+
+        lastFrameTime = frameTime;
+    }
+
+    void end() {
+        if (isHinting) {
+            isHinting = false;
+            performanceHints.end();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.app.ActivityManager;
+import android.content.ContentResolver;
+import android.content.Context;
+import android.os.PowerManager;
+import android.provider.Settings;
+import android.view.Display;
+import android.view.WindowManager;
+
+/**
+ * Chooses animation quality of a menu. Watches frame times of recent menu animations and
+ * degrades quality when frames are dropped, slowly recovering when animations run smoothly.
+ * Low RAM devices, power save mode and animator duration scale limit the best quality
+ * available. Measured quality never goes below
+ * {@link BaseFloatingMenuController#QUALITY_MINIMAL}: a menu opened without animation has no frames
+ * to measure, so it could never recover from a transient stall, e.g. a startup GC.
+ * {@link BaseFloatingMenuController#QUALITY_NONE} is used only when animations are turned off.
+ *
+ * @author Stepan Furdey
+ */
+public class AnimationQualityPolicy {
+
+    /**
+     * A frame is dropped if it took this times longer than a display refresh interval
+     */
+    public static final float JANK_FRAME_RATIO = 1.5f;
+
+    /**
+     * Quality is degraded when this part of animation frames is dropped
+     */
+    public static final float DEGRADE_JANK_RATIO = 0.2f;
+
+    /**
+     * An animation is considered smooth when less than this part of frames is dropped
+     */
+    public static final float SMOOTH_JANK_RATIO = 0.05f;
+
+    /**
+     * Quality is raised after this number of smooth animations in a row
+     */
+    public static final int RECOVER_ANIMATION_COUNT = 5;
+
+    private final ContentResolver contentResolver;
+    private final PowerManager powerManager;
+    private final boolean isLowRamDevice;
+    private final WindowManager windowManager;
+    private final QualityMeter meter;
+    private boolean isMeasuring;
+
+    public AnimationQualityPolicy(Context context) {
+        contentResolver = context.getContentResolver();
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        ActivityManager activityManager =
+                (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        isLowRamDevice = activityManager != null && activityManager.isLowRamDevice();
+        windowManager = (WindowManager) context.getSystemService(Context.WINDOW_SERVICE);
+        meter = new QualityMeter();
+    }
+
+    /**
+     * Returns quality to use for the next animation
+     *
+     * @return one of {@link BaseFloatingMenuController#QUALITY_FULL},
+     *      {@link BaseFloatingMenuController#QUALITY_REDUCED},
+     *      {@link BaseFloatingMenuController#QUALITY_MINIMAL}, {@link BaseFloatingMenuController#QUALITY_NONE}
+     */
+    public int getQuality() {
+        float durationScale = Settings.Global.getFloat(contentResolver,
+                Settings.Global.ANIMATOR_DURATION_SCALE, 1f);
+
+        if (durationScale == 0f) {
+            return BaseFloatingMenuController.QUALITY_NONE;
+        }
+
+        int quality = meter.getQuality();
+
+        if (isLowRamDevice) {
+            quality = Math.max(quality, BaseFloatingMenuController.QUALITY_REDUCED);
+        }
+
+        if (powerManager != null && powerManager.isPowerSaveMode()) {
+            quality = Math.max(quality, BaseFloatingMenuController.QUALITY_MINIMAL);
+        }
+
+        return quality;
+    }
+
+    /**
+     * Called when a measured animation starts. Refresh rate of the display is read every time:
+     * a window can move to another display and a display can switch its refresh rate.
+     *
+     * @param display display showing the animation or <code>null</code> to use the default one
+     */
+    public void onAnimationStart(Display display) {
+        if (display == null && windowManager != null) {
+            display = windowManager.getDefaultDisplay();
+        }
+
+        float refreshRate = display != null && display.getRefreshRate() > 0f
+                ? display.getRefreshRate() : 60f;
+        isMeasuring = true;
+        meter.onAnimationStart((long) (JANK_FRAME_RATIO * 1000000000L / refreshRate));
+    }
+
+    /**
+     * Called every frame of a measured animation on the main thread
+     *
+     * @param frameTime frame time in nanoseconds, e.g. <code>System.nanoTime()</code>
+     */
+    public void onAnimationFrame(long frameTime) {
+        if (isMeasuring) {
+            meter.onAnimationFrame(frameTime);
+        }
+    }
+
+    /**
+     * Called when a measured animation is over
+     */
+    public void onAnimationEnd() {
+        if (isMeasuring) {
+            isMeasuring = false;
+            meter.onAnimationEnd();
+        }
+    }
+
+    /**
+     * Called when a measured animation is cancelled. Frames of a cancelled animation are
+     * not taken into account.
+     */
+    public void onAnimationCancel() {
+        isMeasuring = false;
+    }
+}
@@ -1,19 +1,35 @@
 package com.furdei.furdroid.floatingmenu.base;
 
+import android.animation.Animator;
+import android.animation.AnimatorListenerAdapter;
+import android.animation.ObjectAnimator;
+import android.animation.PropertyValuesHolder;
+import android.animation.ValueAnimator;
 import android.app.Activity;
+import android.content.res.ColorStateList;
 import android.graphics.drawable.Drawable;
 import android.os.Parcel;
 import android.os.Parcelable;
+import android.view.Choreographer;
 import android.view.MenuItem;
+import android.view.MotionEvent;
 import android.view.View;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 import android.view.animation.Animation;
+import android.view.animation.AnimationUtils;
+import android.view.animation.LinearInterpolator;
 import android.widget.ImageView;
 
 import com.furdei.furdroid.floatingmenu.AnimationProvider;
 import com.furdei.furdroid.floatingmenu.FloatingMenuController;
+import com.furdei.furdroid.floatingmenu.PerformanceHints;
+import com.furdei.furdroid.floatingmenu.PropertyAnimationProvider;
 import com.furdei.furdroid.floatingmenu.R;
+import com.furdei.furdroid.floatingmenu.animation.AnimationPool;
+import com.furdei.furdroid.floatingmenu.internal.ListenerArray;
 import com.furdei.furdroid.floatingmenu.internal.MenuAnchorView;
+import com.furdei.furdroid.floatingmenu.internal.PaletteUtils;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -28,6 +44,157 @@ import java.util.List;
  */
 public class BaseFloatingMenuController implements FloatingMenuController {
 
+    /**
+     * Menu is hidden
+     */
+    public static final int STATE_CLOSED = 0;
+
+    /**
+     * Menu is visible and open animation is running
+     */
+    public static final int STATE_OPENING = 1;
+
+    /**
+     * Menu is fully opened
+     */
+    public static final int STATE_OPENED = 2;
+
+    /**
+     * Menu is visible and close animation is running
+     */
+    public static final int STATE_CLOSING = 3;
+
+    /**
+     * Menu is animated as configured
+     */
+    public static final int QUALITY_FULL = 0;
+
+    /**
+     * Menu is animated without alpha changes and overlay fading
+     */
+    public static final int QUALITY_REDUCED = 1;
+
+    /**
+     * Menu is animated without alpha changes and overlay fading, animations are shorter
+     */
+    public static final int QUALITY_MINIMAL = 2;
+
+    /**
+     * Menu is opened and closed without animation. Adaptive quality chooses it only when
+     * animator duration scale is 0.
+     */
+    public static final int QUALITY_NONE = 3;
+
+    /**
+     * Item selection is delivered to an activity right inside a click
+     */
+    public static final int DISPATCH_IMMEDIATE = 0;
+
+    /**
+     * Menu is closed on item click, item selection is delivered to an activity once the first
+     * frame of a close animation has been drawn
+     */
+    public static final int DISPATCH_NEXT_FRAME = 1;
+
+    /**
+     * Menu is closed on item click, item selection is delivered to an activity when a close
+     * animation ends
+     */
+    public static final int DISPATCH_AFTER_CLOSE = 2;
+
+    /**
+     * {@link FloatingMenuListener#onBeforeOpened(FloatingMenuController) onBeforeOpened} event
+     */
+    public static final int EVENT_BEFORE_OPENED = 1;
+
+    /**
+     * {@link FloatingMenuListener#onAfterOpened(FloatingMenuController) onAfterOpened} event
+     */
+    public static final int EVENT_AFTER_OPENED = 1 << 1;
+
+    /**
+     * {@link FloatingMenuListener#onBeforeClosed(FloatingMenuController) onBeforeClosed} event
+     */
+    public static final int EVENT_BEFORE_CLOSED = 1 << 2;
+
+    /**
+     * {@link FloatingMenuListener#onAfterClosed(FloatingMenuController) onAfterClosed} event
+     */
+    public static final int EVENT_AFTER_CLOSED = 1 << 3;
+
+    /**
+     * All the menu life cycle events
+     */
+    public static final int EVENT_ALL = EVENT_BEFORE_OPENED | EVENT_AFTER_OPENED
+            | EVENT_BEFORE_CLOSED | EVENT_AFTER_CLOSED;
+
+    /**
+     * A listener to get notified when adaptive animation quality changes
+     */
+    public interface AnimationQualityListener {
+        /**
+         * Called when a menu animation is about to start with a quality different from
+         * the previous one.
+         *
+         * @param controller calling menu controller
+         * @param quality one of {@link #QUALITY_FULL}, {@link #QUALITY_REDUCED},
+         *                {@link #QUALITY_MINIMAL}, {@link #QUALITY_NONE}
+         */
+        void onAnimationQualityChanged(FloatingMenuController controller, int quality);
+    }
+
+    /**
+     * A listener to get notified when a menu state has been restored silently
+     *
+     * @see #setSilentRestoreEnabled(boolean)
+     */
+    public interface FloatingMenuRestoreListener {
+        /**
+         * Called after a menu has been put straight into a saved state, e.g. after
+         * a configuration change. No other menu life cycle events go off in this case.
+         *
+         * @param controller calling menu controller
+         * @param isOpened <code>true</code> if a menu has been restored opened
+         */
+        void onRestored(FloatingMenuController controller, boolean isOpened);
+    }
+
+    /**
+     * A listener to follow open/close animation frame by frame. Makes it possible to
+     * synchronize other effects, e.g. fading a toolbar, with a menu animation without running
+     * animators of their own.
+     */
+    public interface FloatingMenuProgressListener {
+        /**
+         * Called every animation frame while menu is being opened or closed, and once more when
+         * menu gets fully opened or closed.
+         *
+         * @param controller calling menu controller
+         * @param progress menu openness from 0.0f (fully closed) to 1.0f (fully opened)
+         */
+        void onProgress(FloatingMenuController controller, float progress);
+    }
+
+    /**
+     * A listener to get notified when a deferred item selection is delivered to an activity
+     */
+    public interface ItemClickDispatchListener {
+        /**
+         * Called right after an item selection has been delivered to an activity.
+         *
+         * @param controller calling menu controller
+         * @param item clicked menu item
+         * @param latency time in milliseconds between a click and item selection delivery
+         */
+        void onItemClickDispatched(FloatingMenuController controller, MenuItem item,
+                                   long latency);
+    }
+
+    public static final float DEFAULT_ITEM_STAGGER = 0.5f;
+    public static final float DEFAULT_ITEM_TRANSLATION_DP = 16f;
+    public static final int DEFAULT_SNAPSHOT_MAX_BYTE_COUNT = 4 * 1024 * 1024;
+    public static final float MINIMAL_QUALITY_DURATION_SCALE = 0.5f;
+
     private Activity activity;
     private View openCloseButton;
     private ViewGroup menuContainer;
@@ -35,14 +202,60 @@ public class BaseFloatingMenuController implements FloatingMenuController {
     private AnimationProvider containerCloseAnimationProvider;
     private AnimationProvider buttonOpenAnimationProvider;
     private AnimationProvider buttonCloseAnimationProvider;
+    private PropertyAnimationProvider containerOpenPropertyAnimationProvider;
+    private PropertyAnimationProvider containerClosePropertyAnimationProvider;
+    private PropertyAnimationProvider buttonOpenPropertyAnimationProvider;
+    private PropertyAnimationProvider buttonClosePropertyAnimationProvider;
     private boolean isOpened;
-    private List<FloatingMenuListener> listeners;
+    private int state;
+    private boolean isCancelling;
+    private ValueAnimator clock;
+    private boolean isClockDriving;
+    private boolean isClockOpening;
+    private long animationStartTime;
+    private List<ValueAnimator> runningAnimators;
+    private List<Animation> runningAnimations;
+    private boolean isHardwareLayersEnabled;
+    private boolean isOpenOnPressEnabled;
+    private int closedVisibility;
+    private AnimationQualityPolicy qualityPolicy;
+    private AnimationQualityListener qualityListener;
+    private int animationQuality;
+    private long animationDuration;
+    private final AnimationHints animationHints;
+    private final FirstFrameTimer firstFrameTimer;
+    private boolean isOpenedOnPress;
+    private boolean isSnapshotAnimationEnabled;
+    private final MenuSnapshot snapshot;
+    private List<View> layerViews;
+    private ListenerArray<FloatingMenuListener> beforeOpenedListeners;
+    private ListenerArray<FloatingMenuListener> afterOpenedListeners;
+    private ListenerArray<FloatingMenuListener> beforeClosedListeners;
+    private ListenerArray<FloatingMenuListener> afterClosedListeners;
+    private ListenerArray<FloatingMenuProgressListener> progressListeners;
+    private ListenerArray<FloatingMenuRestoreListener> restoreListeners;
+    private boolean isSilentRestoreEnabled;
+    private final MenuScrollRestorer scrollRestorer;
+    private List<View> menuItemViews;
+    private final Choreographer choreographer;
+    private final MenuCommandQueue commandQueue;
+    private final ItemClickDispatcher itemClickDispatcher;
+    private boolean isStaggeredItemAnimationEnabled;
+    private float itemStagger;
+    private float itemTranslation;
     private Drawable closedButtonDrawable;
     private Drawable openedButtonDrawable;
 
+    /**
+     * Menu state kept across activity recreation: whether a menu is opened and how it's items
+     * are scrolled. Submenu groups have no state of their own, layout managers always lay them
+     * out expanded.
+     */
     public static class MenuSavedState extends View.BaseSavedState {
 
         private boolean isOpened;
+        private int scrollX;
+        private int scrollY;
 
         public MenuSavedState(Parcelable superState) {
             super(superState);
@@ -50,12 +263,17 @@ public class BaseFloatingMenuController implements FloatingMenuController {
 
         private MenuSavedState(Parcel source) {
             super(source);
+            isOpened = source.readInt() != 0;
+            scrollX = source.readInt();
+            scrollY = source.readInt();
         }
 
         @Override
         public void writeToParcel(Parcel dest, int flags) {
             super.writeToParcel(dest, flags);
             dest.writeInt(isOpened ? 1 : 0);
+            dest.writeInt(scrollX);
+            dest.writeInt(scrollY);
         }
 
         //required field that makes Parcelables from a Parcel
@@ -74,39 +292,64 @@ public class BaseFloatingMenuController implements FloatingMenuController {
     private final View.OnClickListener openCloseListener = new View.OnClickListener() {
         @Override
         public void onClick(View view) {
+            // the menu has already been opened when the button was pressed
+            if (isOpenedOnPress) {
+                isOpenedOnPress = false;
+                return;
+            }
+
             toggleAnimated();
         }
     };
 
-    private final Animation.AnimationListener openAnimationListener = new Animation.AnimationListener() {
+    private final View.OnTouchListener openCloseTouchListener = new View.OnTouchListener() {
         @Override
-        public void onAnimationStart(Animation animation) {
-            openInternal();
+        public boolean onTouch(View view, MotionEvent event) {
+            return onOpenCloseButtonTouch(view, event);
         }
+    };
 
-        @Override
-        public void onAnimationEnd(Animation animation) {
-            notifyAfterOpened();
-        }
+    private final Animation.AnimationListener containerAnimationListener =
+            new Animation.AnimationListener() {
+                @Override
+                public void onAnimationStart(Animation animation) {
+                }
 
-        @Override
-        public void onAnimationRepeat(Animation animation) {
-        }
-    };
+                @Override
+                public void onAnimationEnd(Animation animation) {
+                    // a pooled animation must not keep a reference to this controller
+                    animation.setAnimationListener(null);
 
-    private final Animation.AnimationListener closeAnimationListener = new Animation.AnimationListener() {
-        @Override
-        public void onAnimationStart(Animation animation) {
-            notifyBeforeClosed();
-        }
+                    // animation may have been cancelled and replaced by another one
+                    if (!isCancelling) {
+                        finishAnimation();
+                    }
+                }
 
-        @Override
-        public void onAnimationEnd(Animation animation) {
-            closeInternal();
-        }
+                @Override
+                public void onAnimationRepeat(Animation animation) {
+                }
+            };
+
+    private final ValueAnimator.AnimatorUpdateListener clockUpdateListener =
+            new ValueAnimator.AnimatorUpdateListener() {
+                @Override
+                public void onAnimationUpdate(ValueAnimator animation) {
+                    onClockTick(animation.getAnimatedFraction());
+                }
+            };
 
+    private final Animator.AnimatorListener clockListener = new AnimatorListenerAdapter() {
         @Override
-        public void onAnimationRepeat(Animation animation) {
+        public void onAnimationEnd(Animator animation) {
+            // legacy animations finish a menu animation by themselves
+            if (isCancelling || !isClockDriving) {
+                return;
+            }
+
+            // clock may have been reversed, so the state tells where it has come to
+            runningAnimators.clear();
+            finishAnimation();
         }
     };
 
@@ -114,10 +357,18 @@ public class BaseFloatingMenuController implements FloatingMenuController {
         @Override
         public void onClick(View v) {
             MenuItem item = (MenuItem) v.getTag(R.integer.menuItemTag);
-            onMenuItemClicked(item);
+            itemClickDispatcher.onItemClicked(item);
         }
     };
 
+    private final Choreographer.FrameCallback commandFrameCallback =
+            new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    applyCommand(commandQueue.take());
+                }
+            };
+
     private final MenuAnchorView.StateChangeListener stateChangeListener =
             new MenuAnchorView.StateChangeListener() {
 
@@ -132,12 +383,55 @@ public class BaseFloatingMenuController implements FloatingMenuController {
                         BaseFloatingMenuController.this.onRestoreInstanceState(state);
                     }
                 }
+
+                @Override
+                public void onDetachedFromWindow() {
+                    // activity is going away, don't leave animators running and views in layers
+                    cancelAnimation();
+                    snapshot.recycle();
+                    itemClickDispatcher.cancel();
+                    cancelCommand();
+                }
             };
 
     public BaseFloatingMenuController(Activity activity) {
         this.activity = activity;
         this.isOpened = false;
-        this.listeners = new ArrayList<FloatingMenuListener>(2);
+        this.state = STATE_CLOSED;
+        this.runningAnimators = new ArrayList<ValueAnimator>(3);
+        this.runningAnimations = new ArrayList<Animation>(2);
+        this.clock = ValueAnimator.ofFloat(0f, 1f);
+        this.clock.setInterpolator(new LinearInterpolator());
+        this.clock.addUpdateListener(clockUpdateListener);
+        this.clock.addListener(clockListener);
+        this.isHardwareLayersEnabled = true;
+        this.layerViews = new ArrayList<View>(3);
+        this.snapshot = new MenuSnapshot(activity.getResources(),
+                DEFAULT_SNAPSHOT_MAX_BYTE_COUNT);
+        this.closedVisibility = View.GONE;
+        this.animationQuality = QUALITY_FULL;
+        this.firstFrameTimer = new FirstFrameTimer();
+        this.animationHints = new AnimationHints();
+        this.beforeOpenedListeners = new ListenerArray<FloatingMenuListener>(
+                new FloatingMenuListener[0]);
+        this.afterOpenedListeners = new ListenerArray<FloatingMenuListener>(
+                new FloatingMenuListener[0]);
+        this.beforeClosedListeners = new ListenerArray<FloatingMenuListener>(
+                new FloatingMenuListener[0]);
+        this.afterClosedListeners = new ListenerArray<FloatingMenuListener>(
+                new FloatingMenuListener[0]);
+        this.progressListeners = new ListenerArray<FloatingMenuProgressListener>(
+                new FloatingMenuProgressListener[0]);
+        this.restoreListeners = new ListenerArray<FloatingMenuRestoreListener>(
+                new FloatingMenuRestoreListener[0]);
+        this.menuItemViews = new ArrayList<View>();
+        this.itemClickDispatcher = new ItemClickDispatcher(this);
+        this.choreographer = Choreographer.getInstance();
+        this.commandQueue = new MenuCommandQueue();
+        this.scrollRestorer = new MenuScrollRestorer();
+        this.itemStagger = DEFAULT_ITEM_STAGGER;
+        this.itemTranslation = DEFAULT_ITEM_TRANSLATION_DP
+                * activity.getResources().getDisplayMetrics().density;
 
         MenuAnchorView anchorView = new MenuAnchorView(activity);
         anchorView.setStateChangeListener(stateChangeListener);
@@ -160,6 +454,7 @@ public class BaseFloatingMenuController implements FloatingMenuController {
     public void setOpenCloseButton(View openCloseButton) {
         this.openCloseButton = openCloseButton;
         this.openCloseButton.setOnClickListener(openCloseListener);
+        this.openCloseButton.setOnTouchListener(openCloseTouchListener);
         this.openCloseButton.setTag(R.integer.menuItemTag, this);
         setClosedButtonDrawable(null);
         setOpenedButtonDrawable(null);
@@ -245,6 +540,70 @@ public class BaseFloatingMenuController implements FloatingMenuController {
         buttonCloseAnimationProvider = closeAnimationProvider;
     }
 
+    public PropertyAnimationProvider getContainerOpenPropertyAnimationProvider() {
+        return containerOpenPropertyAnimationProvider;
+    }
+
+    /**
+     * Sets a property animation provider which constructs an animator to play on a menu
+     * container when menu is to be shown. Takes precedence over
+     * {@link #setContainerOpenAnimationProvider(AnimationProvider)}.
+     *
+     * @param openAnimationProvider a property animation provider to construct open animator
+     */
+    public void setContainerOpenPropertyAnimationProvider(
+            PropertyAnimationProvider openAnimationProvider) {
+        containerOpenPropertyAnimationProvider = openAnimationProvider;
+    }
+
+    public PropertyAnimationProvider getContainerClosePropertyAnimationProvider() {
+        return containerClosePropertyAnimationProvider;
+    }
+
+    /**
+     * Sets a property animation provider which constructs an animator to play on a menu
+     * container when menu is to be hidden. Takes precedence over
+     * {@link #setContainerCloseAnimationProvider(AnimationProvider)}.
+     *
+     * @param closeAnimationProvider a property animation provider to construct close animator
+     */
+    public void setContainerClosePropertyAnimationProvider(
+            PropertyAnimationProvider closeAnimationProvider) {
+        containerClosePropertyAnimationProvider = closeAnimationProvider;
+    }
+
+    public PropertyAnimationProvider getButtonOpenPropertyAnimationProvider() {
+        return buttonOpenPropertyAnimationProvider;
+    }
+
+    /**
+     * Sets a property animation provider which constructs an animator to play on an
+     * 'open/close' button when menu is to be shown. Takes precedence over
+     * {@link #setButtonOpenAnimationProvider(AnimationProvider)}.
+     *
+     * @param openAnimationProvider a property animation provider to construct open animator
+     */
+    public void setButtonOpenPropertyAnimationProvider(
+            PropertyAnimationProvider openAnimationProvider) {
+        buttonOpenPropertyAnimationProvider = openAnimationProvider;
+    }
+
+    public PropertyAnimationProvider getButtonClosePropertyAnimationProvider() {
+        return buttonClosePropertyAnimationProvider;
+    }
+
+    /**
+     * Sets a property animation provider which constructs an animator to play on an
+     * 'open/close' button when menu is to be hidden. Takes precedence over
+     * {@link #setButtonCloseAnimationProvider(AnimationProvider)}.
+     *
+     * @param closeAnimationProvider a property animation provider to construct close animator
+     */
+    public void setButtonClosePropertyAnimationProvider(
+            PropertyAnimationProvider closeAnimationProvider) {
+        buttonClosePropertyAnimationProvider = closeAnimationProvider;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -252,6 +611,7 @@ public class BaseFloatingMenuController implements FloatingMenuController {
     public void initializeMenuItem(MenuItem menuItem, View menuItemView) {
         menuItemView.setTag(R.integer.menuItemTag, menuItem);
         menuItemView.setOnClickListener(menuItemClickListener);
+        menuItemViews.add(menuItemView);
     }
 
     /**
@@ -263,65 +623,91 @@ public class BaseFloatingMenuController implements FloatingMenuController {
     }
 
     /**
-     * {@inheritDoc}
+     * Returns current menu state
+     *
+     * @return one of {@link #STATE_CLOSED}, {@link #STATE_OPENING}, {@link #STATE_OPENED},
+     *      {@link #STATE_CLOSING}
+     */
+    public int getState() {
+        return state;
+    }
+
+    /**
+     * Shows floating menu playing animation specified by
+     * {@link #setContainerOpenPropertyAnimationProvider(PropertyAnimationProvider)},
+     * {@link #setButtonOpenPropertyAnimationProvider(PropertyAnimationProvider)} or
+     * {@link #setContainerOpenAnimationProvider(AnimationProvider)},
+     * {@link #setButtonOpenAnimationProvider(AnimationProvider)} methods.
+     * <code>openAnimated</code> method falls back to opening menu without animation in case when
+     * neither container nor button animation is provided.
+     * </p>
+     * If a menu is being closed by property animators they are reversed from their current
+     * progress. In this case
+     * {@link FloatingMenuListener#onBeforeOpened(FloatingMenuController) onBeforeOpened}
+     * follows {@link FloatingMenuListener#onBeforeClosed(FloatingMenuController) onBeforeClosed}
+     * without {@link FloatingMenuListener#onAfterClosed(FloatingMenuController) onAfterClosed}
+     * in between. Does nothing if a menu is already opened or being opened.
      */
     @Override
     public void openAnimated() {
-        if (containerOpenAnimationProvider != null) {
-            Animation containerAnimation = containerOpenAnimationProvider.get();
-
-            if (containerAnimation != null) {
-                containerAnimation.setAnimationListener(openAnimationListener);
-                getOpenCloseAnimationView().startAnimation(containerAnimation);
-            } else {
-                open();
-            }
+        if (state == STATE_OPENING || state == STATE_OPENED) {
+            return;
+        }
 
-            if (buttonOpenAnimationProvider != null) {
-                Animation buttonAnimation = buttonOpenAnimationProvider.get();
+        if (state == STATE_CLOSING && reverseAnimation()) {
+            state = STATE_OPENING;
+            notifyBeforeOpened();
+            return;
+        }
 
-                if (buttonAnimation != null) {
-                    getOpenCloseButton().startAnimation(buttonAnimation);
-                }
-            }
-        } else {
+        if (!startMenuAnimation(true)) {
             open();
         }
     }
 
     /**
-     * {@inheritDoc}
+     * Hides floating menu playing animation specified by
+     * {@link #setContainerClosePropertyAnimationProvider(PropertyAnimationProvider)},
+     * {@link #setButtonClosePropertyAnimationProvider(PropertyAnimationProvider)} or
+     * {@link #setContainerCloseAnimationProvider(AnimationProvider)},
+     * {@link #setButtonCloseAnimationProvider(AnimationProvider)} methods.
+     * <code>closeAnimated</code> method falls back to closing menu without animation in case when
+     * neither container nor button animation is provided.
+     * </p>
+     * If a menu is being opened by property animators they are reversed from their current
+     * progress. In this case
+     * {@link FloatingMenuListener#onBeforeClosed(FloatingMenuController) onBeforeClosed}
+     * follows {@link FloatingMenuListener#onBeforeOpened(FloatingMenuController) onBeforeOpened}
+     * without {@link FloatingMenuListener#onAfterOpened(FloatingMenuController) onAfterOpened}
+     * in between. Does nothing if a menu is already closed or being closed.
      */
     @Override
     public void closeAnimated() {
-        if (containerCloseAnimationProvider != null) {
-            Animation containerAnimation = containerCloseAnimationProvider.get();
-
-            if (containerAnimation != null) {
-                containerAnimation.setAnimationListener(closeAnimationListener);
-                getOpenCloseAnimationView().startAnimation(containerAnimation);
-            } else {
-                close();
-            }
+        if (state == STATE_CLOSING || state == STATE_CLOSED) {
+            return;
+        }
 
-            if (buttonCloseAnimationProvider != null) {
-                Animation buttonAnimation = buttonCloseAnimationProvider.get();
+        if (state == STATE_OPENING && reverseAnimation()) {
+            state = STATE_CLOSING;
+            notifyBeforeClosed();
+            return;
+        }
 
-                if (buttonAnimation != null) {
-                    getOpenCloseButton().startAnimation(buttonAnimation);
-                }
-            }
-        } else {
+        if (!startMenuAnimation(false)) {
             close();
         }
     }
 
     /**
-     * {@inheritDoc}
+     * Shows floating menu if menu is hidden or being closed and hides it otherwise. In any case
+     * this method tries to play open/close animation. This method falls back to opening/closing menu without
+     * animation in case when animation is not provided.
+     * @see #openAnimated()
+     * @see #closeAnimated()
      */
     @Override
     public void toggleAnimated() {
-        if (isOpened) {
+        if (state == STATE_OPENING || state == STATE_OPENED) {
             closeAnimated();
         } else {
             openAnimated();
@@ -329,20 +715,44 @@ public class BaseFloatingMenuController implements FloatingMenuController {
     }
 
     /**
-     * {@inheritDoc}
+     * Opens a floating menu without animation. Does not affect a menu if it is already opened.
+     * Running animation is stopped.
      */
     @Override
     public void open() {
-        openInternal();
-        notifyAfterOpened();
+        if (state == STATE_OPENED) {
+            return;
+        }
+
+        boolean isOpening = state == STATE_OPENING;
+        cancelAnimation();
+
+        if (isOpening) {
+            doOpen();
+        } else {
+            openInternal();
+        }
+
+        finishOpen();
     }
 
     /**
-     * {@inheritDoc}
+     * Closes a floating menu without animation. Does not affect a menu if it is already hidden.
+     * Running animation is stopped.
      */
     @Override
     public void close() {
-        notifyBeforeClosed();
+        if (state == STATE_CLOSED) {
+            return;
+        }
+
+        boolean isClosing = state == STATE_CLOSING;
+        cancelAnimation();
+
+        if (!isClosing) {
+            beginClose();
+        }
+
         closeInternal();
     }
 
@@ -351,7 +761,7 @@ public class BaseFloatingMenuController implements FloatingMenuController {
      */
     @Override
     public void toggle() {
-        if (isOpened) {
+        if (state == STATE_OPENING || state == STATE_OPENED) {
             close();
         } else {
             open();
@@ -359,182 +769,1298 @@ public class BaseFloatingMenuController implements FloatingMenuController {
     }
 
     /**
-     * {@inheritDoc}
+     * Same as {@link #openAnimated()} but can be called from any thread. A command is applied
+     * on the main thread in the next frame. Commands posted before that frame are coalesced
+     * to the final target state, so a menu is animated at most once per frame whatever
+     * the number of commands. This method takes no locks and never blocks.
      */
-    @Override
-    public void addFloatingMenuListener(FloatingMenuListener listener) {
-        if (!listeners.contains(listener)) {
-            listeners.add(listener);
+    public void postOpenAnimated() {
+        if (commandQueue.post(MenuCommandQueue.COMMAND_OPEN)) {
+            scheduleCommand();
         }
     }
 
     /**
-     * {@inheritDoc}
+     * Same as {@link #closeAnimated()} but can be called from any thread
+     *
+     * @see #postOpenAnimated()
      */
-    @Override
-    public void removeFloatingMenuListener(FloatingMenuListener listener) {
-        listeners.remove(listener);
+    public void postCloseAnimated() {
+        if (commandQueue.post(MenuCommandQueue.COMMAND_CLOSE)) {
+            scheduleCommand();
+        }
     }
 
     /**
-     * {@inheritDoc}
+     * Same as {@link #toggleAnimated()} but can be called from any thread. Two toggles posted
+     * within a single frame cancel each other out.
+     *
+     * @see #postOpenAnimated()
      */
-    @Override
-    public void removeAllFloatingMenuListeners() {
-        listeners.clear();
+    public void postToggleAnimated() {
+        if (commandQueue.postToggle()) {
+            scheduleCommand();
+        }
+    }
+
+    private void scheduleCommand() {
+        // Choreographer hands callbacks posted from other threads over to the main thread
+        choreographer.postFrameCallback(commandFrameCallback);
+    }
+
+    private void cancelCommand() {
+        choreographer.removeFrameCallback(commandFrameCallback);
+        commandQueue.clear();
+    }
+
+    private void applyCommand(int command) {
+        switch (command) {
+            case MenuCommandQueue.COMMAND_OPEN:
+                openAnimated();
+                break;
+            case MenuCommandQueue.COMMAND_CLOSE:
+                closeAnimated();
+                break;
+            case MenuCommandQueue.COMMAND_TOGGLE:
+                toggleAnimated();
+                break;
+        }
     }
 
     /**
-     * {@inheritDoc}
+     * Returns a default way to deliver item selections to an activity
+     *
+     * @return one of {@link #DISPATCH_IMMEDIATE}, {@link #DISPATCH_NEXT_FRAME},
+     *      {@link #DISPATCH_AFTER_CLOSE}
      */
-    @Override
-    public Drawable getClosedButtonDrawable() {
-        return closedButtonDrawable;
+    public int getItemClickDispatch() {
+        return itemClickDispatcher.getDispatch();
     }
 
     /**
-     * {@inheritDoc}
+     * Specifies a default way to deliver item selections to an activity. By default
+     * {@link android.app.Activity#onOptionsItemSelected(MenuItem) onOptionsItemSelected} is
+     * called right inside a click, {@link #DISPATCH_IMMEDIATE}. If a handler starts an activity
+     * or does some I/O, a close animation freezes on its first frame. Deferred policies close
+     * a menu themselves and deliver item selection when an animation is running smoothly
+     * ({@link #DISPATCH_NEXT_FRAME}) or is over ({@link #DISPATCH_AFTER_CLOSE}). A deferred
+     * selection is delivered right away if a menu gets opened again before that.
+     *
+     * @param dispatch one of {@link #DISPATCH_IMMEDIATE}, {@link #DISPATCH_NEXT_FRAME},
+     *      {@link #DISPATCH_AFTER_CLOSE}
      */
-    @Override
-    public void setClosedButtonDrawable(Drawable closedButtonDrawable) {
-        this.closedButtonDrawable = closedButtonDrawable;
+    public void setItemClickDispatch(int dispatch) {
+        itemClickDispatcher.setDispatch(dispatch);
     }
 
     /**
-     * {@inheritDoc}
+     * Specifies a way to deliver selection of a particular item, overriding the default one
+     *
+     * @param itemId menu item id
+     * @param dispatch one of {@link #DISPATCH_IMMEDIATE}, {@link #DISPATCH_NEXT_FRAME},
+     *      {@link #DISPATCH_AFTER_CLOSE}
+     * @see #setItemClickDispatch(int)
      */
-    @Override
-    public Drawable getOpenedButtonDrawable() {
-        return openedButtonDrawable;
+    public void setItemClickDispatch(int itemId, int dispatch) {
+        itemClickDispatcher.setDispatch(itemId, dispatch);
     }
 
     /**
-     * {@inheritDoc}
+     * Sets a listener to get notified when item selections are delivered and how long they
+     * were deferred
+     *
+     * @param listener a listener or <code>null</code>
      */
-    @Override
-    public void setOpenedButtonDrawable(Drawable openedButtonDrawable) {
-        this.openedButtonDrawable = openedButtonDrawable;
+    public void setItemClickDispatchListener(ItemClickDispatchListener listener) {
+        itemClickDispatcher.setListener(listener);
     }
 
-    public Activity getActivity() {
-        return activity;
+    /**
+     * Returns performance hints raised during menu animations
+     *
+     * @return performance hints or <code>null</code>
+     */
+    public PerformanceHints getPerformanceHints() {
+        return animationHints.getPerformanceHints();
     }
 
     /**
-     * Here goes some code to show menu view. It can be overridden by children.
+     * Specifies performance hints to raise while a menu is being opened or closed, e.g.
+     * {@link com.furdei.furdroid.floatingmenu.base.WindowPerformanceHints WindowPerformanceHints},
+     * {@link com.furdei.furdroid.floatingmenu.base.HintSessionPerformanceHints HintSessionPerformanceHints}
+     * or an implementation of your own. No hints are raised by default.
+     *
+     * @param performanceHints performance hints or <code>null</code> to raise no hints
      */
-    protected void doOpen() {
-        menuContainer.setVisibility(View.VISIBLE);
+    public void setPerformanceHints(PerformanceHints performanceHints) {
+        animationHints.setPerformanceHints(performanceHints);
     }
 
     /**
-     * Here goes some code to hide menu view. It can be overridden by children.
+     * Checks if animation quality is chosen automatically
+     *
+     * @return <code>true</code> if adaptive animation quality is enabled
      */
-    protected void doClose() {
-        menuContainer.setVisibility(View.GONE);
+    public boolean isAdaptiveQualityEnabled() {
+        return qualityPolicy != null;
     }
 
     /**
-     * Specifies a view to apply animation to while menu is being opened/closed.
+     * Enables or disables adaptive animation quality. When enabled, frame times of recent menu
+     * animations, low RAM device flag, power save mode and animator duration scale are taken
+     * into account to choose cheaper animations: without alpha and overlay fading or shorter
+     * ones. Dropped frames never turn animations off, {@link #QUALITY_NONE} is chosen only
+     * when animations are turned off in system settings. View animations set by
+     * {@link #setContainerOpenAnimationProvider(AnimationProvider)} and alike are played as
+     * they are in every quality but {@link #QUALITY_NONE}. Disabled by default, menu is always
+     * animated with {@link #QUALITY_FULL}.
      *
-     * @return a view to apply animation to
+     * @param enabled <code>true</code> to enable adaptive animation quality
      */
-    protected View getOpenCloseAnimationView() {
-        return menuContainer;
+    public void setAdaptiveQualityEnabled(boolean enabled) {
+        if (enabled && qualityPolicy == null) {
+            qualityPolicy = new AnimationQualityPolicy(activity);
+        } else if (!enabled) {
+            qualityPolicy = null;
+        }
     }
 
     /**
-     * Called just before a menu is going to become visible. It's still hidden when this
-     * event goes off.
+     * Returns animation quality chosen for the last menu animation
+     *
+     * @return one of {@link #QUALITY_FULL}, {@link #QUALITY_REDUCED},
+     *      {@link #QUALITY_MINIMAL}, {@link #QUALITY_NONE}
      */
-    protected void onBeforeOpened() {}
+    public int getAnimationQuality() {
+        return animationQuality;
+    }
 
     /**
-     * Called right after a menu is fully opened, e.g. open animation has been finished or
-     * menu has been opened without any animation.
+     * Sets a listener to get notified when adaptive animation quality changes
+     *
+     * @param listener a listener or <code>null</code>
      */
-    protected void onAfterOpened() {
-        if (openedButtonDrawable != null && openCloseButton instanceof ImageView) {
-            ImageView imageButton = (ImageView) openCloseButton;
-            imageButton.setImageDrawable(openedButtonDrawable);
-        }
+    public void setAnimationQualityListener(AnimationQualityListener listener) {
+        this.qualityListener = listener;
     }
 
     /**
-     * Called just before a menu is going to start closing. It's still visible and holds it
-     * usual fully opened position. Close animation will start after this method is finished.
+     * Returns visibility of a menu container in a closed state
+     *
+     * @return {@link View#GONE} or {@link View#INVISIBLE}
      */
-    protected void onBeforeClosed() {}
+    public int getClosedVisibility() {
+        return closedVisibility;
+    }
 
     /**
-     * Called right after a menu is fully closed, e.g. close animation has been finished or
-     * menu has been closed without any animation. A menu object has been hidden by the moment
-     * this method gets called.
+     * Specifies visibility of a menu container in a closed state. {@link View#GONE} by default,
+     * so that a closed menu takes no space, but then every open starts with a full measure and
+     * layout of menu items in the first animation frame. A menu closed to
+     * {@link View#INVISIBLE} stays measured and laid out, and opening takes a property
+     * change only. Applied right away if a menu is closed.
+     *
+     * @param visibility {@link View#GONE} or {@link View#INVISIBLE}
+     * @see #getFirstFrameDuration()
      */
-    protected void onAfterClosed() {
-        if (closedButtonDrawable != null && openCloseButton instanceof ImageView) {
-            ImageView imageButton = (ImageView) openCloseButton;
-            imageButton.setImageDrawable(closedButtonDrawable);
+    public void setClosedVisibility(int visibility) {
+        if (visibility != View.GONE && visibility != View.INVISIBLE) {
+            throw new IllegalArgumentException("Closed visibility has to be GONE or INVISIBLE");
         }
-    }
 
-    private void onMenuItemClicked(MenuItem item) {
-        activity.onOptionsItemSelected(item);
+        this.closedVisibility = visibility;
+
+        if (state == STATE_CLOSED && menuContainer != null) {
+            doClose();
+        }
     }
 
-    private void openInternal() {
+    /**
+     * Returns main thread time spent on the first frame after a menu has been opened the last
+     * time, from the frame start till the end of view hierarchy drawing. Helps tuning
+     * {@link #setClosedVisibility(int)} and other settings.
+     *
+     * @return duration in nanoseconds or -1 if a menu has not been opened and drawn yet
+     */
+    public long getFirstFrameDuration() {
+        return firstFrameTimer.getDuration();
+    }
+
+    /**
+     * Checks if menu starts opening as soon as an open/close button is pressed
+     *
+     * @return <code>true</code> if open on press is enabled
+     */
+    public boolean isOpenOnPressEnabled() {
+        return isOpenOnPressEnabled;
+    }
+
+    /**
+     * Enables or disables opening on press. A menu is always prepared to be opened when user
+     * touches an open/close button. When this mode is enabled, a closed menu also starts opening
+     * right on touch down instead of waiting for a click, which comes only after the finger is
+     * released. The click which follows doesn't close the menu again. Disabled by default.
+     *
+     * @param enabled <code>true</code> to open a menu on press
+     */
+    public void setOpenOnPressEnabled(boolean enabled) {
+        this.isOpenOnPressEnabled = enabled;
+    }
+
+    /**
+     * Checks if menu items cascade in one after another while menu is being opened
+     *
+     * @return <code>true</code> if staggered item animation is enabled
+     */
+    public boolean isStaggeredItemAnimationEnabled() {
+        return isStaggeredItemAnimationEnabled;
+    }
+
+    /**
+     * Enables or disables staggered item animation. When enabled, every menu item fades in and
+     * slides to it's place one after another while menu is being opened, and in backward order
+     * while menu is being closed. Items are animated by the same clock as the rest of a menu,
+     * so this adds no animators of their own. Disabled by default.
+     *
+     * @param enabled <code>true</code> to enable staggered item animation
+     * @see #setStaggeredItemAnimation(float, float)
+     */
+    public void setStaggeredItemAnimationEnabled(boolean enabled) {
+        this.isStaggeredItemAnimationEnabled = enabled;
+
+        if (!enabled) {
+            resetItems();
+        }
+    }
+
+    /**
+     * Configures staggered item animation.
+     *
+     * @param stagger a part of a menu animation, from 0.0f inclusive to 1.0f exclusive, over
+     *                which item start times are spread. 0.0f makes all items animate together.
+     * @param translation Y offset in pixels items slide from
+     * @see #setStaggeredItemAnimationEnabled(boolean)
+     */
+    public void setStaggeredItemAnimation(float stagger, float translation) {
+        if (stagger < 0f || stagger >= 1f) {
+            throw new IllegalArgumentException("stagger has to be in [0, 1) range");
+        }
+
+        this.itemStagger = stagger;
+        this.itemTranslation = translation;
+    }
+
+    /**
+     * Checks if menu items are replaced by a snapshot while menu is being opened or closed
+     *
+     * @return <code>true</code> if snapshot animation is enabled
+     */
+    public boolean isSnapshotAnimationEnabled() {
+        return isSnapshotAnimationEnabled;
+    }
+
+    /**
+     * Enables or disables snapshot animation. When enabled, menu items are drawn into a bitmap
+     * once when an open or close animation starts, and this single bitmap is animated in place
+     * of live item views, which are swapped back in when the animation is over. Helps menus
+     * with lots of items. The bitmap is reused by subsequent animations. Menus which don't fit
+     * into {@link #setSnapshotMaxByteCount(int)} bytes and menus with staggered item animation
+     * are animated live. So is the first opening of a menu closed to {@link View#GONE}, as it
+     * has not been laid out yet; use {@link #setClosedVisibility(int)} with
+     * {@link View#INVISIBLE} to snapshot it as well. Disabled by default.
+     *
+     * @param enabled <code>true</code> to enable snapshot animation
+     */
+    public void setSnapshotAnimationEnabled(boolean enabled) {
+        this.isSnapshotAnimationEnabled = enabled;
+
+        if (!enabled) {
+            snapshot.hide();
+            snapshot.recycle();
+        }
+    }
+
+    /**
+     * Sets maximum size of a snapshot bitmap in bytes
+     *
+     * @param maxByteCount maximum snapshot size in bytes
+     * @see #setSnapshotAnimationEnabled(boolean)
+     */
+    public void setSnapshotMaxByteCount(int maxByteCount) {
+        snapshot.setMaxByteCount(maxByteCount);
+    }
+
+    /**
+     * Checks if animated views are promoted to hardware layers while menu is being opened or
+     * closed
+     *
+     * @return <code>true</code> if hardware layers are used during animations
+     */
+    public boolean isHardwareLayersEnabled() {
+        return isHardwareLayersEnabled;
+    }
+
+    /**
+     * Enables or disables hardware layers during open/close animations. When enabled, animated
+     * views are rendered into hardware layers for the duration of an animation, so that
+     * alpha and translation changes don't redraw the whole menu items hierarchy every frame.
+     * Previous layer types are restored when an animation ends or is cancelled. Enabled
+     * by default.
+     *
+     * @param hardwareLayersEnabled <code>true</code> to use hardware layers during animations
+     */
+    public void setHardwareLayersEnabled(boolean hardwareLayersEnabled) {
+        this.isHardwareLayersEnabled = hardwareLayersEnabled;
+
+        if (!hardwareLayersEnabled) {
+            restoreLayers();
+        }
+    }
+
+    /**
+     * Adds a floating menu events listener. When there are several listeners for a single menu
+     * then these methods are called in the same order the listeners have been added to a menu
+     * controller:
+     * {@link FloatingMenuController.FloatingMenuListener#onBeforeOpened(FloatingMenuController) onBeforeOpened},
+     * {@link FloatingMenuController.FloatingMenuListener#onAfterOpened(FloatingMenuController) onAfterOpened}.
+     * And these methods are called in backward order:
+     * {@link FloatingMenuController.FloatingMenuListener#onBeforeClosed(FloatingMenuController) onBeforeClosed},
+     * {@link FloatingMenuController.FloatingMenuListener#onAfterClosed(FloatingMenuController) onAfterClosed}.
+     * Listeners can be added and removed from within these methods, changes take effect
+     * starting from the next event.
+     *
+     * @param listener a new listener to add. The same listener cannot be added twice to the
+     *                 same menu controller.
+     * @see #addFloatingMenuListener(FloatingMenuListener, int)
+     */
+    @Override
+    public void addFloatingMenuListener(FloatingMenuListener listener) {
+        addFloatingMenuListener(listener, EVENT_ALL);
+    }
+
+    /**
+     * Adds a floating menu events listener which is notified about some of the events only.
+     * The order of listeners is the same as for
+     * {@link #addFloatingMenuListener(FloatingMenuListener)}.
+     *
+     * @param listener a new listener to add. The same listener cannot be added twice for
+     *                 the same event.
+     * @param events a combination of {@link #EVENT_BEFORE_OPENED}, {@link #EVENT_AFTER_OPENED},
+     *               {@link #EVENT_BEFORE_CLOSED}, {@link #EVENT_AFTER_CLOSED} flags
+     */
+    public void addFloatingMenuListener(FloatingMenuListener listener, int events) {
+        if ((events & EVENT_BEFORE_OPENED) != 0) {
+            beforeOpenedListeners.add(listener);
+        }
+
+        if ((events & EVENT_AFTER_OPENED) != 0) {
+            afterOpenedListeners.add(listener);
+        }
+
+        if ((events & EVENT_BEFORE_CLOSED) != 0) {
+            beforeClosedListeners.add(listener);
+        }
+
+        if ((events & EVENT_AFTER_CLOSED) != 0) {
+            afterClosedListeners.add(listener);
+        }
+    }
+
+    /**
+     * Removes a floating menu events listener from all the events.
+     *
+     * @param listener a listener to remove
+     */
+    @Override
+    public void removeFloatingMenuListener(FloatingMenuListener listener) {
+        beforeOpenedListeners.remove(listener);
+        afterOpenedListeners.remove(listener);
+        beforeClosedListeners.remove(listener);
+        afterClosedListeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void removeAllFloatingMenuListeners() {
+        beforeOpenedListeners.clear();
+        afterOpenedListeners.clear();
+        beforeClosedListeners.clear();
+        afterClosedListeners.clear();
+    }
+
+    /**
+     * Adds a listener which gets menu animation progress every frame. All the property animators
+     * of a menu, e.g. container, open/close button and overlay animators, are driven by
+     * the same animation clock, so the progress is always in line with what is shown on screen.
+     *
+     * @param listener a new listener to add. The same listener cannot be added twice to the
+     *                 same menu controller.
+     */
+    public void addFloatingMenuProgressListener(FloatingMenuProgressListener listener) {
+        progressListeners.add(listener);
+    }
+
+    /**
+     * Removes a menu animation progress listener.
+     *
+     * @param listener a listener to remove
+     */
+    public void removeFloatingMenuProgressListener(FloatingMenuProgressListener listener) {
+        progressListeners.remove(listener);
+    }
+
+    /**
+     * Checks if a saved menu state is restored without menu life cycle events
+     *
+     * @return <code>true</code> if silent restore is enabled
+     */
+    public boolean isSilentRestoreEnabled() {
+        return isSilentRestoreEnabled;
+    }
+
+    /**
+     * Enables or disables silent restore of a saved menu state. By default a saved state is
+     * restored by {@link #open()} or {@link #close()}, and listeners get the same events as
+     * if a user has opened or closed a menu. When silent restore is enabled, a menu is put
+     * straight into a saved state before the first layout pass and only
+     * {@link FloatingMenuRestoreListener}s are notified. Disabled by default.
+     *
+     * @param enabled <code>true</code> to enable silent restore
+     */
+    public void setSilentRestoreEnabled(boolean enabled) {
+        this.isSilentRestoreEnabled = enabled;
+    }
+
+    /**
+     * Adds a listener to get notified when a menu state has been restored silently
+     *
+     * @param listener a new listener to add. The same listener cannot be added twice to the
+     *                 same menu controller.
+     * @see #setSilentRestoreEnabled(boolean)
+     */
+    public void addFloatingMenuRestoreListener(FloatingMenuRestoreListener listener) {
+        restoreListeners.add(listener);
+    }
+
+    /**
+     * Removes a menu restore listener.
+     *
+     * @param listener a listener to remove
+     */
+    public void removeFloatingMenuRestoreListener(FloatingMenuRestoreListener listener) {
+        restoreListeners.remove(listener);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Drawable getClosedButtonDrawable() {
+        return closedButtonDrawable;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setClosedButtonDrawable(Drawable closedButtonDrawable) {
+        this.closedButtonDrawable = closedButtonDrawable;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public Drawable getOpenedButtonDrawable() {
+        return openedButtonDrawable;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setOpenedButtonDrawable(Drawable openedButtonDrawable) {
+        this.openedButtonDrawable = openedButtonDrawable;
+    }
+
+    /**
+     * Changes colors of an already built menu in place. Every menu item's tinted icon and
+     * background, ripple effect and an open/close button background are re-tinted. No views are
+     * inflated or laid out again, so this is cheap enough to follow a theme switch, e.g. to a
+     * dark mode or a per-screen brand color.
+     *
+     * @param colorPrimary a color to tint menu icons in a normal state
+     * @param colorPrimaryDark a color to tint menu icons and open/close button in pressed state
+     * @param colorPrimaryHandle a color to tint open/close button in a normal state
+     * @param colorAccent a color for ripple effect and to tint icons in focused state
+     */
+    public void setPalette(int colorPrimary, int colorPrimaryDark, int colorPrimaryHandle,
+                           int colorAccent) {
+        ColorStateList iconColors = PaletteUtils.getIconColorState(
+                colorPrimary, colorPrimaryDark, colorAccent);
+        ColorStateList rippleColors = PaletteUtils.getRippleColorState(colorAccent);
+        int itemsCount = menuItemViews.size();
+
+        for (int i = 0; i < itemsCount; i++) {
+            PaletteUtils.retintMenuItem(menuItemViews.get(i), iconColors, rippleColors);
+        }
+
+        if (openCloseButton != null) {
+            Drawable buttonBackground = PaletteUtils.retint(openCloseButton.getBackground(),
+                    PaletteUtils.getIconColorState(colorPrimaryHandle, colorPrimaryDark,
+                            colorAccent));
+
+            if (buttonBackground != null) {
+                openCloseButton.setBackground(buttonBackground);
+            }
+        }
+    }
+
+    public Activity getActivity() {
+        return activity;
+    }
+
+    /**
+     * Returns views of all menu items taken under control by
+     * {@link #initializeMenuItem(MenuItem, View)}, including menu groups, in the order they
+     * have been created.
+     *
+     * @return menu item views
+     */
+    protected List<View> getMenuItemViews() {
+        return menuItemViews;
+    }
+
+    /**
+     * Here goes some code to show menu view. It can be overridden by children.
+     */
+    protected void doOpen() {
+        menuContainer.setVisibility(View.VISIBLE);
+    }
+
+    /**
+     * Here goes some code to hide menu view. It can be overridden by children.
+     */
+    protected void doClose() {
+        menuContainer.setVisibility(closedVisibility);
+        // property animators leave their end values behind
+        getOpenCloseAnimationView().setAlpha(1f);
+    }
+
+    /**
+     * Specifies a view to apply animation to while menu is being opened/closed.
+     *
+     * @return a view to apply animation to
+     */
+    protected View getOpenCloseAnimationView() {
+        return menuContainer;
+    }
+
+    /**
+     * Called when an open animation starts from the beginning, right after container and button
+     * animations have been started. Children can start animations of their own views here.
+     * Property animators should be started by {@link #startAnimator(ValueAnimator)} and
+     * view animations by {@link #startAnimation(View, Animation)} to stay in sync with
+     * the menu animation.
+     */
+    protected void onStartOpenAnimation() {}
+
+    /**
+     * Called when a close animation starts from the beginning, right after container and button
+     * animations have been started. Children can start animations of their own views here.
+     * Property animators should be started by {@link #startAnimator(ValueAnimator)} and
+     * view animations by {@link #startAnimation(View, Animation)} to stay in sync with
+     * the menu animation.
+     */
+    protected void onStartCloseAnimation() {}
+
+    /**
+     * Called for every touch event of an open/close button before the button handles it.
+     * A closed menu is prewarmed on touch down and, if enabled, starts opening. Children
+     * overriding this method should call through to super class.
+     *
+     * @param view open/close button
+     * @param event touch event
+     * @return <code>true</code> if the event has been consumed and the button must not
+     *      handle it
+     */
+    protected boolean onOpenCloseButtonTouch(View view, MotionEvent event) {
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                isOpenedOnPress = false;
+                prewarm();
+
+                if (isOpenOnPressEnabled && (state == STATE_CLOSED || state == STATE_CLOSING)) {
+                    isOpenedOnPress = true;
+                    openAnimated();
+                }
+                break;
+
+            case MotionEvent.ACTION_CANCEL:
+                // no click is coming
+                isOpenedOnPress = false;
+                break;
+        }
+
+        return false;
+    }
+
+    /**
+     * Prepares a closed menu to be opened, so that the first frame of an open animation is
+     * cheaper. A hidden menu container is measured, so that items measure cache is warm, and
+     * open animators are built. Called when user touches an open/close button. Children can
+     * override this method to prepare views of their own.
+     */
+    protected void prewarm() {
+        if (state != STATE_CLOSED || menuContainer == null) {
+            return;
+        }
+
+        View view = getOpenCloseAnimationView();
+        ViewParent parent = view.getParent();
+
+        if (view.getVisibility() == View.GONE && parent instanceof ViewGroup) {
+            ViewGroup parentView = (ViewGroup) parent;
+            ViewGroup.LayoutParams layoutParams = view.getLayoutParams();
+
+            if (layoutParams != null && parentView.getWidth() > 0) {
+                view.measure(
+                        ViewGroup.getChildMeasureSpec(
+                                View.MeasureSpec.makeMeasureSpec(parentView.getWidth(),
+                                        View.MeasureSpec.EXACTLY),
+                                parentView.getPaddingLeft() + parentView.getPaddingRight(),
+                                layoutParams.width),
+                        ViewGroup.getChildMeasureSpec(
+                                View.MeasureSpec.makeMeasureSpec(parentView.getHeight(),
+                                        View.MeasureSpec.EXACTLY),
+                                parentView.getPaddingTop() + parentView.getPaddingBottom(),
+                                layoutParams.height));
+            }
+        }
+
+        getAnimator(containerOpenPropertyAnimationProvider, view);
+        getAnimator(buttonOpenPropertyAnimationProvider, openCloseButton);
+    }
+
+    /**
+     * Adds an animator to a menu animation. The animator is not started on it's own but is
+     * driven by the menu animation clock, so all the animators of a menu are applied in
+     * the same frame and never drift apart. If a menu is toggled while it's being animated
+     * the animator is reversed from it's current progress together with the menu animation.
+     * Below {@link #QUALITY_FULL} a copy of the animator without alpha changes is driven.
+     *
+     * @param animator animator to drive or <code>null</code>
+     */
+    protected void startAnimator(ValueAnimator animator) {
+        if (animator != null) {
+            runningAnimators.add(animationQuality == QUALITY_FULL ? animator
+                    : withoutAlpha(animator));
+        }
+    }
+
+    /**
+     * Builds an animator for reduced qualities: translucent views are the most expensive part
+     * of a menu animation. Animators are often reused by their providers, so a copy is made
+     * instead of changing the original. An animator which changes alpha only is replaced with
+     * a plain one of the same timing.
+     */
+    private static ValueAnimator withoutAlpha(ValueAnimator animator) {
+        PropertyValuesHolder[] values = animator.getValues();
+
+        if (values == null) {
+            return animator;
+        }
+
+        List<PropertyValuesHolder> kept = new ArrayList<PropertyValuesHolder>(values.length);
+
+        for (PropertyValuesHolder value : values) {
+            if (!View.ALPHA.getName().equals(value.getPropertyName())) {
+                kept.add(value);
+            }
+        }
+
+        if (kept.size() == values.length) {
+            return animator;
+        }
+
+        if (animator instanceof ObjectAnimator
+                && ((ObjectAnimator) animator).getTarget() instanceof View) {
+            ((View) ((ObjectAnimator) animator).getTarget()).setAlpha(1f);
+        }
+
+        ValueAnimator reduced;
+
+        if (kept.isEmpty()) {
+            reduced = ValueAnimator.ofFloat(0f, 1f);
+            reduced.setDuration(animator.getDuration());
+            reduced.setStartDelay(animator.getStartDelay());
+            reduced.setInterpolator(animator.getInterpolator());
+        } else {
+            reduced = animator.clone();
+            reduced.setValues(kept.toArray(new PropertyValuesHolder[kept.size()]));
+        }
+
+        return reduced;
+    }
+
+    /**
+     * Starts a view animation which accompanies a menu animation. All the view animations of
+     * a menu animation share the same start time.
+     *
+     * @param view view to animate
+     * @param animation animation to start
+     */
+    protected void startAnimation(View view, Animation animation) {
+        animation.setStartTime(animationStartTime);
+        view.setAnimation(animation);
+        runningAnimations.add(animation);
+        view.invalidate();
+
+        if (view.getParent() instanceof View) {
+            ((View) view.getParent()).invalidate();
+        }
+    }
+
+    /**
+     * Stops any running open or close animation leaving views where they are. Children should
+     * call through to super class if they override this method to stop animations of their
+     * own views.
+     */
+    protected void cancelAnimation() {
+        isCancelling = true;
+
+        if (qualityPolicy != null) {
+            qualityPolicy.onAnimationCancel();
+        }
+
+        animationHints.end();
+        clock.cancel();
+        runningAnimators.clear();
+
+        if (menuContainer != null) {
+            getOpenCloseAnimationView().clearAnimation();
+        }
+
+        if (openCloseButton != null) {
+            openCloseButton.clearAnimation();
+        }
+
+        releaseAnimations();
+        snapshot.hide();
+        restoreLayers();
+        isCancelling = false;
+    }
+
+    /**
+     * Returns legacy animations to {@link AnimationPool}, including ones cancelled before
+     * they have been drawn. Views must not hold the animations any more.
+     */
+    private void releaseAnimations() {
+        int animationsCount = runningAnimations.size();
+
+        for (int i = 0; i < animationsCount; i++) {
+            Animation animation = runningAnimations.get(i);
+            animation.setAnimationListener(null);
+            AnimationPool.release(animation);
+        }
+
+        runningAnimations.clear();
+    }
+
+    /**
+     * Prepares a menu to be moved by user, e.g. dragged by a finger. Running animation is stopped
+     * leaving views where they are. A closed menu becomes opening and an opened menu becomes
+     * closing, so listeners get their 'before' events as usual.
+     */
+    protected void beginInteraction() {
+        cancelAnimation();
+
+        if (state == STATE_CLOSED) {
+            openInternal();
+        } else if (state == STATE_OPENED) {
+            beginClose();
+        }
+    }
+
+    /**
+     * Reports progress of a menu moved by user. Staggered items are updated and progress
+     * listeners are notified the same way as for animations.
+     *
+     * @param progress menu openness from 0.0f (fully closed) to 1.0f (fully opened)
+     */
+    protected void setInteractionProgress(float progress) {
+        if (isStaggeredItemAnimationEnabled) {
+            applyItemProgress(progress);
+        }
+
+        notifyProgress(progress);
+    }
+
+    /**
+     * Chooses where a menu moved by user is going to come to. If the direction changes
+     * listeners get a 'before' event of a new direction.
+     *
+     * @param isOpening <code>true</code> if a menu is going to be opened, <code>false</code>
+     *                  if it's going to be closed
+     */
+    protected void settleInteraction(boolean isOpening) {
+        if (isOpening && state == STATE_CLOSING) {
+            state = STATE_OPENING;
+            notifyBeforeOpened();
+        } else if (!isOpening && state == STATE_OPENING) {
+            state = STATE_CLOSING;
+            notifyBeforeClosed();
+        }
+    }
+
+    /**
+     * Finishes moving a menu by user. A menu gets fully opened or closed depending on
+     * the direction chosen by {@link #settleInteraction(boolean)}.
+     */
+    protected void endInteraction() {
+        if (state == STATE_OPENING) {
+            finishOpen();
+        } else if (state == STATE_CLOSING) {
+            closeInternal();
+        }
+    }
+
+    /**
+     * Renders a view into a hardware layer until the current open or close animation ends or
+     * is cancelled. Previous layer type of the view is restored afterwards. Does nothing if
+     * hardware layers are disabled. Children can call this method from
+     * {@link #onStartOpenAnimation()} and {@link #onStartCloseAnimation()} for views they animate.
+     *
+     * @param view animated view or <code>null</code>
+     */
+    protected void promoteToHardwareLayer(View view) {
+        if (!isHardwareLayersEnabled || view == null || layerViews.contains(view)) {
+            return;
+        }
+
+        int layerType = view.getLayerType();
+
+        if (layerType == View.LAYER_TYPE_HARDWARE) {
+            return;
+        }
+
+        view.setTag(R.integer.layerTypeTag, layerType);
+        view.setLayerType(View.LAYER_TYPE_HARDWARE, null);
+        layerViews.add(view);
+    }
+
+    /**
+     * Called just before a menu is going to become visible. It's still hidden when this
+     * event goes off.
+     */
+    protected void onBeforeOpened() {}
+
+    /**
+     * Called right after a menu is fully opened, e.g. open animation has been finished or
+     * menu has been opened without any animation.
+     */
+    protected void onAfterOpened() {
+        applyButtonDrawable(openedButtonDrawable);
+    }
+
+    /**
+     * Called just before a menu is going to start closing. It's still visible and holds it
+     * usual fully opened position. Close animation will start after this method is finished.
+     */
+    protected void onBeforeClosed() {}
+
+    /**
+     * Called right after a menu is fully closed, e.g. close animation has been finished or
+     * menu has been closed without any animation. A menu object has been hidden by the moment
+     * this method gets called.
+     */
+    protected void onAfterClosed() {
+        applyButtonDrawable(closedButtonDrawable);
+    }
+
+    private void applyButtonDrawable(Drawable buttonDrawable) {
+        if (buttonDrawable != null && openCloseButton instanceof ImageView) {
+            ImageView imageButton = (ImageView) openCloseButton;
+            imageButton.setImageDrawable(buttonDrawable);
+        }
+    }
+
+    private static ValueAnimator getAnimator(PropertyAnimationProvider animationProvider,
+                                             View view) {
+        return animationProvider != null ? animationProvider.get(view) : null;
+    }
+
+    private static Animation getAnimation(AnimationProvider animationProvider) {
+        return animationProvider != null ? animationProvider.get() : null;
+    }
+
+    /**
+     * Starts an open or close animation from the beginning. Property animators are preferred,
+     * view animations are used if there is no container animator.
+     *
+     * @param isOpening <code>true</code> for an open animation
+     * @return <code>false</code> if a menu has to be opened or closed without animation
+     */
+    private boolean startMenuAnimation(boolean isOpening) {
+        cancelAnimation();
+        updateAnimationQuality();
+
+        if (animationQuality == QUALITY_NONE) {
+            return false;
+        }
+
+        View view = getOpenCloseAnimationView();
+        ValueAnimator containerAnimator = getAnimator(isOpening
+                ? containerOpenPropertyAnimationProvider
+                : containerClosePropertyAnimationProvider, view);
+        Animation containerAnimation = null;
+
+        if (containerAnimator == null) {
+            containerAnimation = getAnimation(isOpening ? containerOpenAnimationProvider
+                    : containerCloseAnimationProvider);
+
+            if (containerAnimation == null) {
+                return false;
+            }
+        }
+
+        animationStartTime = AnimationUtils.currentAnimationTimeMillis();
+
+        if (isOpening) {
+            openInternal();
+        } else {
+            beginClose();
+        }
+
+        promoteContainerToHardwareLayer();
+        showSnapshot();
+
+        if (containerAnimator != null) {
+            startAnimator(containerAnimator);
+            startAnimator(getAnimator(isOpening ? buttonOpenPropertyAnimationProvider
+                    : buttonClosePropertyAnimationProvider, openCloseButton));
+        } else {
+            containerAnimation.setAnimationListener(containerAnimationListener);
+            startAnimation(view, containerAnimation);
+            Animation buttonAnimation = getAnimation(isOpening ? buttonOpenAnimationProvider
+                    : buttonCloseAnimationProvider);
+
+            if (buttonAnimation != null) {
+                startAnimation(openCloseButton, buttonAnimation);
+            }
+        }
+
+        if (isOpening) {
+            onStartOpenAnimation();
+        } else {
+            onStartCloseAnimation();
+        }
+
+        // animators started by children count too
+        startClock(isOpening, containerAnimator != null, containerAnimator != null
+                ? getAnimatorsDuration() : containerAnimation.computeDurationHint());
+        return true;
+    }
+
+    /**
+     * Finishes an animation which has come to it's end. The state tells which direction it has
+     * been going in.
+     */
+    private void finishAnimation() {
+        if (state == STATE_OPENING) {
+            finishOpen();
+        } else if (state == STATE_CLOSING) {
+            closeInternal();
+        }
+    }
+
+    /**
+     * Reverses running property animators from their current progress
+     *
+     * @return <code>true</code> if animation has been reversed, <code>false</code> if there
+     *      is no running property animation
+     */
+    private boolean reverseAnimation() {
+        if (!isClockDriving || !clock.isRunning()) {
+            return false;
+        }
+
+        // driven animators follow the clock
+        clock.reverse();
+        return true;
+    }
+
+    private long getAnimatorsDuration() {
+        long duration = 0;
+        int animatorsCount = runningAnimators.size();
+
+        for (int i = 0; i < animatorsCount; i++) {
+            ValueAnimator animator = runningAnimators.get(i);
+            duration = Math.max(duration, animator.getStartDelay() + animator.getDuration());
+        }
+
+        return duration;
+    }
+
+    /**
+     * Starts a menu animation clock. The clock applies it's first frame synchronously, so a menu
+     * never shows up in it's final state for a frame.
+     *
+     * @param isOpening <code>true</code> for an open animation
+     * @param isDriving <code>true</code> if the clock drives property animators,
+     *                  <code>false</code> if it only reports progress of view animations
+     * @param duration animation duration
+     */
+    private void startClock(boolean isOpening, boolean isDriving, long duration) {
+        isClockOpening = isOpening;
+        isClockDriving = isDriving;
+        animationDuration = duration;
+        // driven animators are seeked through their whole duration however long the clock is
+        clock.setDuration(isDriving && animationQuality == QUALITY_MINIMAL
+                ? (long) (duration * MINIMAL_QUALITY_DURATION_SCALE) : duration);
+
+        if (qualityPolicy != null) {
+            qualityPolicy.onAnimationStart(
+                    menuContainer != null ? getOpenCloseAnimationView().getDisplay() : null);
+        }
+
+        if (menuContainer != null) {
+            animationHints.begin(getOpenCloseAnimationView(), clock.getDuration());
+        }
+
+        clock.start();
+    }
+
+    private void updateAnimationQuality() {
+        int quality = qualityPolicy != null ? qualityPolicy.getQuality() : QUALITY_FULL;
+
+        if (quality != animationQuality) {
+            animationQuality = quality;
+
+            if (qualityListener != null) {
+                qualityListener.onAnimationQualityChanged(this, quality);
+            }
+        }
+    }
+
+    private void finishQualityMeasuring() {
+        if (qualityPolicy != null) {
+            qualityPolicy.onAnimationEnd();
+        }
+    }
+
+    private void stopClock() {
+        // view animations have finished a menu animation before the clock did
+        if (!isClockDriving && clock.isRunning()) {
+            clock.cancel();
+        }
+    }
+
+    private void onClockTick(float fraction) {
+        long frameTime = System.nanoTime();
+
+        if (qualityPolicy != null) {
+            qualityPolicy.onAnimationFrame(frameTime);
+        }
+
+        animationHints.onAnimationFrame(frameTime);
+
+        if (isClockDriving) {
+            long playTime = (long) (fraction * animationDuration);
+            int animatorsCount = runningAnimators.size();
+
+            for (int i = 0; i < animatorsCount; i++) {
+                ValueAnimator animator = runningAnimators.get(i);
+                long animatorTime = playTime - animator.getStartDelay();
+                animator.setCurrentPlayTime(
+                        Math.max(0, Math.min(animatorTime, animator.getDuration())));
+            }
+        }
+
+        float progress = isClockOpening ? fraction : 1f - fraction;
+
+        if (isStaggeredItemAnimationEnabled) {
+            applyItemProgress(progress);
+        }
+
+        notifyProgress(progress);
+    }
+
+    /**
+     * Every item is animated over the same part of a menu animation, item start times are
+     * evenly spread over the stagger part.
+     */
+    private void applyItemProgress(float progress) {
+        int itemsCount = menuItemViews.size();
+        float itemDuration = 1f - itemStagger;
+        float itemDelay = itemsCount > 1 ? itemStagger / (itemsCount - 1) : 0f;
+
+        for (int i = 0; i < itemsCount; i++) {
+            float itemProgress = (progress - i * itemDelay) / itemDuration;
+            itemProgress = Math.max(0f, Math.min(itemProgress, 1f));
+            View itemView = menuItemViews.get(i);
+
+            if (animationQuality == QUALITY_FULL) {
+                itemView.setAlpha(itemProgress);
+            }
+
+            itemView.setTranslationY(itemTranslation * (1f - itemProgress));
+        }
+    }
+
+    private void resetItems() {
+        int itemsCount = menuItemViews.size();
+
+        for (int i = 0; i < itemsCount; i++) {
+            View itemView = menuItemViews.get(i);
+            itemView.setAlpha(1f);
+            itemView.setTranslationY(0f);
+        }
+    }
+
+    private void openInternal() {
+        state = STATE_OPENING;
         notifyBeforeOpened();
+
+        if (menuContainer != null) {
+            firstFrameTimer.start(menuContainer);
+        }
+
         doOpen();
         isOpened = true;
     }
 
+    private void promoteContainerToHardwareLayer() {
+        // staggered items change every frame, so a container layer would be redrawn anyway
+        if (!isStaggeredItemAnimationEnabled) {
+            promoteToHardwareLayer(getOpenCloseAnimationView());
+        }
+    }
+
+    /**
+     * Replaces menu items with their snapshot for the length of an animation, if enabled
+     */
+    private void showSnapshot() {
+        // staggered items change every frame, a snapshot can't show them
+        if (isSnapshotAnimationEnabled && !isStaggeredItemAnimationEnabled
+                && menuContainer != null) {
+            snapshot.show(menuContainer);
+        }
+    }
+
+    private void restoreLayers() {
+        int viewsCount = layerViews.size();
+
+        for (int i = 0; i < viewsCount; i++) {
+            View view = layerViews.get(i);
+            Object layerType = view.getTag(R.integer.layerTypeTag);
+            view.setLayerType(layerType instanceof Integer ? (Integer) layerType
+                    : View.LAYER_TYPE_NONE, null);
+            view.setTag(R.integer.layerTypeTag, null);
+        }
+
+        layerViews.clear();
+    }
+
+    private void finishOpen() {
+        finishQualityMeasuring();
+        animationHints.end();
+        stopClock();
+        snapshot.hide();
+        restoreLayers();
+
+        if (isStaggeredItemAnimationEnabled) {
+            resetItems();
+        }
+
+        state = STATE_OPENED;
+        notifyProgress(1f);
+        notifyAfterOpened();
+    }
+
+    private void beginClose() {
+        state = STATE_CLOSING;
+        notifyBeforeClosed();
+    }
+
     private void closeInternal() {
+        finishQualityMeasuring();
+        animationHints.end();
+        stopClock();
+        snapshot.hide();
+        restoreLayers();
         doClose();
+
+        if (isStaggeredItemAnimationEnabled) {
+            resetItems();
+        }
+
         isOpened = false;
+        state = STATE_CLOSED;
+        notifyProgress(0f);
         notifyAfterClosed();
+        itemClickDispatcher.onMenuClosed();
     }
 
     private void notifyBeforeOpened() {
+        // a menu is opened again before a deferred item selection has been delivered
+        itemClickDispatcher.dispatchPendingItemClick();
         onBeforeOpened();
-        int listenersCount = listeners.size();
+        // a snapshot stays the same even if listeners add or remove themselves
+        FloatingMenuListener[] listeners = beforeOpenedListeners.getListeners();
 
-        for (int i = 0; i < listenersCount; i++) {
-            FloatingMenuListener listener = listeners.get(i);
-            listener.onBeforeOpened(this);
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onBeforeOpened(this);
         }
     }
 
     private void notifyAfterOpened() {
         onAfterOpened();
-        int listenersCount = listeners.size();
+        FloatingMenuListener[] listeners = afterOpenedListeners.getListeners();
 
-        for (int i = 0; i < listenersCount; i++) {
-            FloatingMenuListener listener = listeners.get(i);
-            listener.onAfterOpened(this);
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onAfterOpened(this);
         }
     }
 
     private void notifyBeforeClosed() {
         onBeforeClosed();
+        FloatingMenuListener[] listeners = beforeClosedListeners.getListeners();
 
-        for (int i = listeners.size() - 1; i >= 0; i--) {
-            FloatingMenuListener listener = listeners.get(i);
-            listener.onBeforeClosed(this);
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            listeners[i].onBeforeClosed(this);
         }
     }
 
     private void notifyAfterClosed() {
         onAfterClosed();
+        FloatingMenuListener[] listeners = afterClosedListeners.getListeners();
 
-        for (int i = listeners.size() - 1; i >= 0; i--) {
-            FloatingMenuListener listener = listeners.get(i);
-            listener.onAfterClosed(this);
+        for (int i = listeners.length - 1; i >= 0; i--) {
+            listeners[i].onAfterClosed(this);
+        }
+    }
+
+    private void notifyProgress(float progress) {
+        FloatingMenuProgressListener[] listeners = progressListeners.getListeners();
+
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onProgress(this, progress);
         }
     }
 
     private Parcelable onSaveInstanceState(Parcelable state) {
         MenuSavedState menuSavedState = new MenuSavedState(state);
         menuSavedState.isOpened = isOpened;
+
+        if (menuContainer != null) {
+            View scrollingView = MenuScrollRestorer.getScrollingView(menuContainer);
+            menuSavedState.scrollX = scrollingView.getScrollX();
+            menuSavedState.scrollY = scrollingView.getScrollY();
+        }
+
         return menuSavedState;
     }
 
@@ -544,11 +2070,47 @@ public class BaseFloatingMenuController implements FloatingMenuController {
         }
 
         MenuSavedState menuSavedState = (MenuSavedState) state;
-        if (menuSavedState.isOpened && !isOpened) {
+
+        if (isSilentRestoreEnabled) {
+            restoreSilently(menuSavedState.isOpened);
+        } else if (menuSavedState.isOpened && !isOpened) {
             open();
         } else if (!menuSavedState.isOpened && isOpened) {
             close();
         }
+
+        if (menuContainer != null
+                && (menuSavedState.scrollX != 0 || menuSavedState.scrollY != 0)) {
+            scrollRestorer.restore(menuContainer, menuSavedState.scrollX, menuSavedState.scrollY);
+        }
+    }
+
+    /**
+     * Puts controller and views straight into a saved state, no life cycle events go off
+     */
+    private void restoreSilently(boolean isOpened) {
+        cancelAnimation();
+        this.isOpened = isOpened;
+        state = isOpened ? STATE_OPENED : STATE_CLOSED;
+
+        if (menuContainer != null) {
+            if (isOpened) {
+                doOpen();
+            } else {
+                doClose();
+            }
+
+            if (isStaggeredItemAnimationEnabled) {
+                resetItems();
+            }
+        }
+
+        applyButtonDrawable(isOpened ? openedButtonDrawable : closedButtonDrawable);
+        FloatingMenuRestoreListener[] listeners = restoreListeners.getListeners();
+
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i].onRestored(this, isOpened);
+        }
     }
 
 }
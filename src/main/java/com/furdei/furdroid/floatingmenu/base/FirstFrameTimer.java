@@ -0,0 +1,94 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.view.Choreographer;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+/**
+ * Measures how long the first frame of an opening menu takes, from the start of the frame
+ * till a view tree has been drawn. The first frame of an open is where measuring, layout and
+ * display lists of a menu are built.
+ *
+ * @author Stepan Furdey
+ */
+class FirstFrameTimer {
+
+    private View view;
+    private boolean isMeasuring;
+    private long frameStartTime;
+    private long duration;
+
+    private final Choreographer.FrameCallback frameCallback = new Choreographer.FrameCallback() {
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            frameStartTime = System.nanoTime();
+        }
+    };
+
+    private final ViewTreeObserver.OnDrawListener drawListener =
+            new ViewTreeObserver.OnDrawListener() {
+                @Override
+                public void onDraw() {
+                    if (!isMeasuring || frameStartTime == 0) {
+                        return;
+                    }
+
+                    duration = System.nanoTime() - frameStartTime;
+                    isMeasuring = false;
+                    // draw listeners can't be removed while drawing
+                    view.post(removeDrawListener);
+                }
+            };
+
+    private final Runnable removeDrawListener = new Runnable() {
+        @Override
+        public void run() {
+            ViewTreeObserver observer = view.getViewTreeObserver();
+
+            if (observer.isAlive()) {
+                observer.removeOnDrawListener(drawListener);
+            }
+        }
+    };
+
+    FirstFrameTimer() {
+        this.duration = -1;
+    }
+
+    /**
+     * Returns duration of the last measured frame
+     *
+     * @return duration in nanoseconds or -1 if nothing has been measured yet
+     */
+    long getDuration() {
+        return duration;
+    }
+
+    /**
+     * Starts measuring the next frame of a view tree, unless a frame is being measured already
+     *
+     * @param view a view of the tree
+     */
+    void start(View view) {
+        if (isMeasuring) {
+            return;
+        }
+
+        ViewTreeObserver observer = view.getViewTreeObserver();
+
+        if (!observer.isAlive()) {
+            return;
+        }
+
+        if (this.view != null) {
+            this.view.removeCallbacks(removeDrawListener);
+        }
+
+        this.view = view;
+        observer.removeOnDrawListener(drawListener);
+        observer.addOnDrawListener(drawListener);
+        isMeasuring = true;
+        frameStartTime = 0;
+        Choreographer.getInstance().postFrameCallback(frameCallback);
+    }
+}
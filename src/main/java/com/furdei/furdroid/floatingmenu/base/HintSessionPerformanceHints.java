@@ -0,0 +1,124 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.app.Activity;
+import android.content.Context;
+import android.os.Build;
+import android.os.Process;
+import android.view.Display;
+import android.view.View;
+
+import java.lang.reflect.Method;
+
+/**
+ * <p>
+ * Performance hints which, in addition to a higher display refresh rate raised by
+ * {@link WindowPerformanceHints}, open a <code>PerformanceHintManager</code> session for
+ * the main thread on Android 12 and newer. The session targets a display refresh interval
+ * and gets frame intervals of a menu animation reported as actual work durations, so
+ * the system keeps CPU clocks up while frames are being dropped. Older devices get the
+ * refresh rate hint only.
+ * </p><p>
+ * The library is compiled against an older platform, so the session is accessed through
+ * reflection. The session is created by the first animation and closed when hints are
+ * released.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public class HintSessionPerformanceHints extends WindowPerformanceHints {
+
+    private static final int HINT_SESSION_API = 31;
+    private static final String PERFORMANCE_HINT_SERVICE = "performance_hint";
+    private static final float DEFAULT_REFRESH_RATE = 60f;
+
+    private final Context context;
+    private boolean isSessionSupported;
+    private Object session;
+    private Method reportActualWorkDuration;
+    private Method close;
+
+    public HintSessionPerformanceHints(Activity activity) {
+        super(activity);
+        this.context = activity.getApplicationContext();
+        this.isSessionSupported = Build.VERSION.SDK_INT >= HINT_SESSION_API;
+    }
+
+    @Override
+    public void begin(View view, long duration) {
+        super.begin(view, duration);
+
+        if (session == null && isSessionSupported) {
+            createSession(view.getDisplay());
+        }
+    }
+
+    @Override
+    public void reportFrame(long frameTime) {
+        if (session == null) {
+            return;
+        }
+
+        try {
+            reportActualWorkDuration.invoke(session, frameTime);
+        } catch (ReflectiveOperationException e) {
+            closeSession();
+            isSessionSupported = false;
+        }
+    }
+
+    @Override
+    public void release() {
+        super.release();
+        closeSession();
+    }
+
+    private void createSession(Display display) {
+        float refreshRate = display != null && display.getRefreshRate() > 0f
+                ? display.getRefreshRate() : DEFAULT_REFRESH_RATE;
+        long targetDuration = (long) (1000000000L / refreshRate);
+
+        try {
+            Object manager = context.getSystemService(PERFORMANCE_HINT_SERVICE);
+
+            if (manager == null) {
+                isSessionSupported = false;
+                return;
+            }
+
+            Method createHintSession = manager.getClass()
+                    .getMethod("createHintSession", int[].class, long.class);
+            // null if the device doesn't support hint sessions
+            Object newSession = createHintSession.invoke(manager,
+                    new int[] {Process.myTid()}, targetDuration);
+
+            if (newSession == null) {
+                isSessionSupported = false;
+                return;
+            }
+
+            reportActualWorkDuration =
+                    newSession.getClass().getMethod("reportActualWorkDuration", long.class);
+            close = newSession.getClass().getMethod("close");
+            session = newSession;
+        } catch (ReflectiveOperationException e) {
+            isSessionSupported = false;
+        } catch (SecurityException e) {
+            isSessionSupported = false;
+        }
+    }
+
+    private void closeSession() {
+        if (session == null) {
+            return;
+        }
+
+        Object closedSession = session;
+        session = null;
+
+        try {
+            close.invoke(closedSession);
+        } catch (ReflectiveOperationException e) {
+            // the session is dropped anyway
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.SparseIntArray;
+import android.view.Choreographer;
+import android.view.MenuItem;
+
+/**
+ * Delivers menu item clicks to an activity according to item click dispatch policies of
+ * a controller. Only the last deferred click waits, an earlier one is delivered as soon as
+ * another item is clicked or a menu is opened again.
+ *
+ * @author Stepan Furdey
+ */
+class ItemClickDispatcher {
+
+    private final BaseFloatingMenuController controller;
+    private final Handler handler;
+    private final SparseIntArray itemDispatches;
+    private int dispatch;
+    private BaseFloatingMenuController.ItemClickDispatchListener listener;
+    private MenuItem pendingItem;
+    private int pendingItemDispatch;
+    private long pendingItemClickTime;
+
+    private final Choreographer.FrameCallback pendingItemFrameCallback =
+            new Choreographer.FrameCallback() {
+                @Override
+                public void doFrame(long frameTimeNanos) {
+                    // the frame is being drawn right after this callback, deliver after it
+                    handler.post(pendingItemRunnable);
+                }
+            };
+
+    private final Runnable pendingItemRunnable = new Runnable() {
+        @Override
+        public void run() {
+            dispatchPendingItemClick();
+        }
+    };
+
+    ItemClickDispatcher(BaseFloatingMenuController controller) {
+        this.controller = controller;
+        this.handler = new Handler(Looper.getMainLooper());
+        this.itemDispatches = new SparseIntArray();
+        this.dispatch = BaseFloatingMenuController.DISPATCH_IMMEDIATE;
+    }
+
+    int getDispatch() {
+        return dispatch;
+    }
+
+    void setDispatch(int dispatch) {
+        checkDispatch(dispatch);
+        this.dispatch = dispatch;
+    }
+
+    void setDispatch(int itemId, int dispatch) {
+        checkDispatch(dispatch);
+        itemDispatches.put(itemId, dispatch);
+    }
+
+    void setListener(BaseFloatingMenuController.ItemClickDispatchListener listener) {
+        this.listener = listener;
+    }
+
+    /**
+     * Delivers a click right away or closes a menu and delivers it later
+     *
+     * @param item clicked item
+     */
+    void onItemClicked(MenuItem item) {
+        long clickTime = SystemClock.uptimeMillis();
+        int itemDispatch = itemDispatches.get(item.getItemId(), dispatch);
+
+        if (itemDispatch == BaseFloatingMenuController.DISPATCH_IMMEDIATE) {
+            dispatchItemClick(item, clickTime);
+            return;
+        }
+
+        dispatchPendingItemClick();
+        pendingItem = item;
+        pendingItemDispatch = itemDispatch;
+        pendingItemClickTime = clickTime;
+        controller.closeAnimated();
+
+        // a menu closed without animation has nothing to wait for
+        if (pendingItem != null && (itemDispatch == BaseFloatingMenuController.DISPATCH_NEXT_FRAME
+                || controller.getState() == BaseFloatingMenuController.STATE_CLOSED)) {
+            Choreographer.getInstance().postFrameCallback(pendingItemFrameCallback);
+        }
+    }
+
+    /**
+     * Called when a menu has been closed
+     */
+    void onMenuClosed() {
+        if (pendingItemDispatch == BaseFloatingMenuController.DISPATCH_AFTER_CLOSE) {
+            dispatchPendingItemClick();
+        }
+    }
+
+    /**
+     * Delivers a deferred click, if there is one, right away
+     */
+    void dispatchPendingItemClick() {
+        if (pendingItem == null) {
+            return;
+        }
+
+        MenuItem item = pendingItem;
+        cancel();
+        dispatchItemClick(item, pendingItemClickTime);
+    }
+
+    /**
+     * Drops a deferred click
+     */
+    void cancel() {
+        pendingItem = null;
+        Choreographer.getInstance().removeFrameCallback(pendingItemFrameCallback);
+        handler.removeCallbacks(pendingItemRunnable);
+    }
+
+    private void dispatchItemClick(MenuItem item, long clickTime) {
+        long latency = SystemClock.uptimeMillis() - clickTime;
+        controller.getActivity().onOptionsItemSelected(item);
+
+        if (listener != null) {
+            listener.onItemClickDispatched(controller, item, latency);
+        }
+    }
+
+    private static void checkDispatch(int dispatch) {
+        if (dispatch != BaseFloatingMenuController.DISPATCH_IMMEDIATE
+                && dispatch != BaseFloatingMenuController.DISPATCH_NEXT_FRAME
+                && dispatch != BaseFloatingMenuController.DISPATCH_AFTER_CLOSE) {
+            throw new IllegalArgumentException("Unknown item click dispatch: " + dispatch);
+        }
+    }
+}
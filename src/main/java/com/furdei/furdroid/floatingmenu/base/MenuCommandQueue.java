@@ -0,0 +1,79 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Coalesces open/close/toggle commands posted from any thread into at most one command per
+ * frame. A later open or close replaces a pending command, a toggle flips it, so two toggles
+ * cancel each other out. Commands are posted without locks and taken on the main thread.
+ *
+ * @author Stepan Furdey
+ */
+class MenuCommandQueue {
+
+    static final int COMMAND_NONE = 0;
+    static final int COMMAND_OPEN = 1;
+    static final int COMMAND_CLOSE = 2;
+    static final int COMMAND_TOGGLE = 3;
+
+    private final AtomicInteger pendingCommand = new AtomicInteger(COMMAND_NONE);
+    private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+    /**
+     * Replaces a pending command
+     *
+     * @param command {@link #COMMAND_OPEN} or {@link #COMMAND_CLOSE}
+     * @return <code>true</code> if a caller has to schedule {@link #take()}, <code>false</code>
+     *      if it's been scheduled already
+     */
+    boolean post(int command) {
+        pendingCommand.set(command);
+        return isScheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Flips a pending command
+     *
+     * @return <code>true</code> if a caller has to schedule {@link #take()}, <code>false</code>
+     *      if it's been scheduled already
+     */
+    boolean postToggle() {
+        int command;
+        int toggledCommand;
+
+        do {
+            command = pendingCommand.get();
+
+            if (command == COMMAND_OPEN) {
+                toggledCommand = COMMAND_CLOSE;
+            } else if (command == COMMAND_CLOSE) {
+                toggledCommand = COMMAND_OPEN;
+            } else if (command == COMMAND_TOGGLE) {
+                toggledCommand = COMMAND_NONE;
+            } else {
+                toggledCommand = COMMAND_TOGGLE;
+            }
+        } while (!pendingCommand.compareAndSet(command, toggledCommand));
+
+        return isScheduled.compareAndSet(false, true);
+    }
+
+    /**
+     * Takes a pending command. Commands posted from now on need to be scheduled again.
+     *
+     * @return a pending command or {@link #COMMAND_NONE}
+     */
+    int take() {
+        isScheduled.set(false);
+        return pendingCommand.getAndSet(COMMAND_NONE);
+    }
+
+    /**
+     * Drops a pending command
+     */
+    void clear() {
+        pendingCommand.set(COMMAND_NONE);
+        isScheduled.set(false);
+    }
+}
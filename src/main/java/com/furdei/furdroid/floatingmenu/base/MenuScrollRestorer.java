@@ -0,0 +1,67 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.view.View;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+import android.view.ViewTreeObserver;
+import android.widget.HorizontalScrollView;
+import android.widget.ScrollView;
+
+/**
+ * Restores a scroll position of menu items. A restored menu hasn't got it's items laid out
+ * yet, so the position is applied right before the next frame is drawn, when scroll range
+ * is known.
+ *
+ * @author Stepan Furdey
+ */
+class MenuScrollRestorer {
+
+    private View scrollingView;
+    private int scrollX;
+    private int scrollY;
+
+    private final ViewTreeObserver.OnPreDrawListener preDrawListener =
+            new ViewTreeObserver.OnPreDrawListener() {
+                @Override
+                public boolean onPreDraw() {
+                    scrollingView.getViewTreeObserver().removeOnPreDrawListener(this);
+                    scrollingView.scrollTo(scrollX, scrollY);
+                    return true;
+                }
+            };
+
+    /**
+     * Menu items may be scrolled by a scroll view holding a menu container, as it's done in
+     * the default bottom menu layout
+     *
+     * @param container menu container
+     * @return a view scrolling menu items
+     */
+    static View getScrollingView(ViewGroup container) {
+        ViewParent parent = container.getParent();
+
+        if (parent instanceof ScrollView || parent instanceof HorizontalScrollView) {
+            return (View) parent;
+        }
+
+        return container;
+    }
+
+    /**
+     * Scrolls menu items to a saved position before the next frame
+     *
+     * @param container menu container
+     * @param scrollX saved horizontal scroll position
+     * @param scrollY saved vertical scroll position
+     */
+    void restore(ViewGroup container, int scrollX, int scrollY) {
+        if (scrollingView != null) {
+            scrollingView.getViewTreeObserver().removeOnPreDrawListener(preDrawListener);
+        }
+
+        this.scrollingView = getScrollingView(container);
+        this.scrollX = scrollX;
+        this.scrollY = scrollY;
+        scrollingView.getViewTreeObserver().addOnPreDrawListener(preDrawListener);
+    }
+}
@@ -0,0 +1,140 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.drawable.BitmapDrawable;
+import android.view.View;
+import android.view.ViewGroup;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bitmap snapshot of menu items shown instead of the items while a menu is being animated.
+ * Visible items are drawn into a bitmap and hidden, so that a menu container draws the only
+ * bitmap from it's overlay. Hiding views this way doesn't cause a layout pass. The bitmap is
+ * reused by next animations.
+ *
+ * @author Stepan Furdey
+ */
+class MenuSnapshot {
+
+    private final Resources resources;
+    private final List<View> hiddenViews;
+    private int maxByteCount;
+    private ViewGroup container;
+    private Bitmap bitmap;
+    private Canvas canvas;
+    private BitmapDrawable drawable;
+
+    MenuSnapshot(Resources resources, int maxByteCount) {
+        this.resources = resources;
+        this.maxByteCount = maxByteCount;
+        this.hiddenViews = new ArrayList<View>();
+    }
+
+    void setMaxByteCount(int maxByteCount) {
+        this.maxByteCount = maxByteCount;
+    }
+
+    boolean isShown() {
+        return container != null;
+    }
+
+    /**
+     * Shows a snapshot of container items. Does nothing if a container hasn't been laid out yet
+     * or a bitmap would be larger than allowed.
+     *
+     * @param container menu container
+     */
+    void show(ViewGroup container) {
+        if (isShown()) {
+            return;
+        }
+
+        int width = container.getWidth();
+        int height = container.getHeight();
+
+        if (width == 0 || height == 0 || (long) width * height * 4 > maxByteCount) {
+            return;
+        }
+
+        prepareBitmap(width, height);
+        int childCount = container.getChildCount();
+
+        for (int i = 0; i < childCount; i++) {
+            View child = container.getChildAt(i);
+
+            if (child.getVisibility() == View.VISIBLE) {
+                int saveCount = canvas.save();
+                canvas.translate(child.getLeft(), child.getTop());
+                child.draw(canvas);
+                canvas.restoreToCount(saveCount);
+                hiddenViews.add(child);
+            }
+        }
+
+        int hiddenCount = hiddenViews.size();
+
+        for (int i = 0; i < hiddenCount; i++) {
+            hiddenViews.get(i).setVisibility(View.INVISIBLE);
+        }
+
+        drawable.setBounds(0, 0, width, height);
+        container.getOverlay().add(drawable);
+        this.container = container;
+    }
+
+    /**
+     * Shows menu items again
+     */
+    void hide() {
+        if (!isShown()) {
+            return;
+        }
+
+        container.getOverlay().remove(drawable);
+        container = null;
+        int hiddenCount = hiddenViews.size();
+
+        for (int i = 0; i < hiddenCount; i++) {
+            hiddenViews.get(i).setVisibility(View.VISIBLE);
+        }
+
+        hiddenViews.clear();
+    }
+
+    /**
+     * Frees a snapshot bitmap unless it's being shown
+     */
+    void recycle() {
+        if (bitmap != null && !isShown()) {
+            bitmap.recycle();
+            bitmap = null;
+            canvas = null;
+            drawable = null;
+        }
+    }
+
+    private void prepareBitmap(int width, int height) {
+        if (bitmap != null && bitmap.getWidth() == width && bitmap.getHeight() == height) {
+            bitmap.eraseColor(Color.TRANSPARENT);
+            return;
+        }
+
+        if (bitmap != null && bitmap.getAllocationByteCount() >= width * height * 4) {
+            bitmap.reconfigure(width, height, Bitmap.Config.ARGB_8888);
+            bitmap.eraseColor(Color.TRANSPARENT);
+            // a canvas keeps size and stride of the bitmap it has been bound to
+            canvas.setBitmap(bitmap);
+            return;
+        }
+
+        recycle();
+        bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        canvas = new Canvas(bitmap);
+        drawable = new BitmapDrawable(resources, bitmap);
+    }
+}
@@ -0,0 +1,74 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+/**
+ * Measured part of {@link AnimationQualityPolicy}. Counts dropped frames of menu animations
+ * and moves quality one step down or up. Frame times are passed in, so the meter doesn't
+ * depend on a clock or a display.
+ *
+ * @author Stepan Furdey
+ */
+class QualityMeter {
+
+    private static final int MIN_FRAME_COUNT = 3;
+
+    private long jankFrameTime;
+    private int quality;
+    private int smoothAnimationCount;
+    private long lastFrameTime;
+    private int frameCount;
+    private int jankFrameCount;
+
+    QualityMeter() {
+        this.quality = BaseFloatingMenuController.QUALITY_FULL;
+    }
+
+    /**
+     * Returns measured quality, never lower than {@link BaseFloatingMenuController#QUALITY_MINIMAL}
+     */
+    int getQuality() {
+        return quality;
+    }
+
+    /**
+     * @param jankFrameTime a frame of this animation longer than this is considered dropped,
+     *                      in nanoseconds
+     */
+    void onAnimationStart(long jankFrameTime) {
+        this.jankFrameTime = jankFrameTime;
+        lastFrameTime = 0;
+        frameCount = 0;
+        jankFrameCount = 0;
+    }
+
+    /**
+     * @param frameTime frame time in nanoseconds
+     */
+    void onAnimationFrame(long frameTime) {
+        if (lastFrameTime != 0) {
+            frameCount++;
+
+            if (frameTime - lastFrameTime > jankFrameTime) {
+                jankFrameCount++;
+            }
+        }
+
+        lastFrameTime = frameTime;
+    }
+
+    void onAnimationEnd() {
+        if (frameCount < MIN_FRAME_COUNT) {
+            return;
+        }
+
+        float jankRatio = (float) jankFrameCount / frameCount;
+
+        if (jankRatio > AnimationQualityPolicy.DEGRADE_JANK_RATIO) {
+            quality = Math.min(quality + 1, BaseFloatingMenuController.QUALITY_MINIMAL);
+            smoothAnimationCount = 0;
+        } else if (jankRatio < AnimationQualityPolicy.SMOOTH_JANK_RATIO
+                && ++smoothAnimationCount >= AnimationQualityPolicy.RECOVER_ANIMATION_COUNT) {
+            quality = Math.max(quality - 1, BaseFloatingMenuController.QUALITY_FULL);
+            smoothAnimationCount = 0;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import android.app.Activity;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Display;
+import android.view.View;
+import android.view.Window;
+import android.view.WindowManager;
+
+import com.furdei.furdroid.floatingmenu.PerformanceHints;
+
+/**
+ * <p>
+ * Implementation of {@link com.furdei.furdroid.floatingmenu.PerformanceHints PerformanceHints}
+ * which asks for the highest refresh rate supported by a display while a menu is being
+ * animated. Frame reports are ignored.
+ * </p><p>
+ * Changing window attributes causes a window relayout and may switch a display mode, so
+ * the refresh rate is not toggled for every animation. It's raised when the first animation
+ * starts and restored {@link #RELEASE_DELAY} milliseconds after the last one is over, so that
+ * a user toggling a menu back and forth causes a single change each way.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public class WindowPerformanceHints implements PerformanceHints {
+
+    /**
+     * Hints are released if no animation starts within this number of milliseconds
+     */
+    public static final long RELEASE_DELAY = 1000;
+
+    private final Window window;
+    private final Handler handler;
+    private final Runnable releaseRunnable = new Runnable() {
+        @Override
+        public void run() {
+            release();
+        }
+    };
+    private float previousRefreshRate;
+    private boolean isRaised;
+
+    public WindowPerformanceHints(Activity activity) {
+        this.window = activity.getWindow();
+        this.handler = new Handler(Looper.getMainLooper());
+    }
+
+    @Override
+    public void begin(View view, long duration) {
+        handler.removeCallbacks(releaseRunnable);
+        Display display = view.getDisplay();
+
+        if (isRaised || display == null) {
+            return;
+        }
+
+        float maxRefreshRate = 0f;
+        float[] refreshRates = display.getSupportedRefreshRates();
+
+        for (float refreshRate : refreshRates) {
+            maxRefreshRate = Math.max(maxRefreshRate, refreshRate);
+        }
+
+        if (maxRefreshRate <= display.getRefreshRate()) {
+            return;
+        }
+
+        WindowManager.LayoutParams attributes = window.getAttributes();
+        previousRefreshRate = attributes.preferredRefreshRate;
+        attributes.preferredRefreshRate = maxRefreshRate;
+        window.setAttributes(attributes);
+        isRaised = true;
+    }
+
+    @Override
+    public void reportFrame(long frameTime) {
+    }
+
+    /**
+     * {@inheritDoc} Hints are actually released after {@link #RELEASE_DELAY} unless another
+     * animation starts.
+     */
+    @Override
+    public void end() {
+        handler.removeCallbacks(releaseRunnable);
+        handler.postDelayed(releaseRunnable, RELEASE_DELAY);
+    }
+
+    /**
+     * Releases hints right away, e.g. when an activity is going away. Children should call
+     * through to super class if they override this method.
+     */
+    public void release() {
+        handler.removeCallbacks(releaseRunnable);
+
+        if (!isRaised) {
+            return;
+        }
+
+        WindowManager.LayoutParams attributes = window.getAttributes();
+        attributes.preferredRefreshRate = previousRefreshRate;
+        window.setAttributes(attributes);
+        isRaised = false;
+    }
+}
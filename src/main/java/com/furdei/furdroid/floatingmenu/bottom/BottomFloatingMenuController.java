@@ -1,38 +1,127 @@
 package com.furdei.furdroid.floatingmenu.bottom;
 
+import android.animation.TimeAnimator;
 import android.app.Activity;
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.LayerDrawable;
+import android.os.Handler;
+import android.os.Looper;
+import android.view.Choreographer;
+import android.view.MotionEvent;
+import android.view.VelocityTracker;
 import android.view.View;
+import android.view.ViewConfiguration;
 import android.view.ViewGroup;
+import android.view.ViewParent;
 
 import com.furdei.furdroid.floatingmenu.AnimationProvider;
+import com.furdei.furdroid.floatingmenu.PropertyAnimationProvider;
 import com.furdei.furdroid.floatingmenu.R;
+import com.furdei.furdroid.floatingmenu.animation.Spring;
 import com.furdei.furdroid.floatingmenu.base.BaseFloatingMenuController;
+import com.furdei.furdroid.floatingmenu.internal.BoxBlur;
+import com.furdei.furdroid.floatingmenu.internal.PixelCopyCompat;
 
 /**
  * Basic out-of-the-box implementation of
  * {@link com.furdei.furdroid.floatingmenu.FloatingMenuController FloatingMenuController}.
  * In addition to
  * {@link com.furdei.furdroid.floatingmenu.base.BaseFloatingMenuController BaseFloatingMenuController}
- * provides control for open/close animation on window overlay.
+ * provides control for open/close animation on window overlay. A menu can also be dragged
+ * open or closed by a finger, see {@link #setDragEnabled(boolean)}.
  *
  * @author Stepan Furdey
  */
 public class BottomFloatingMenuController extends BaseFloatingMenuController {
 
+    public static final float DEFAULT_BACKDROP_SCALE = 0.25f;
+
     private ViewGroup menuDecor;
     private ViewGroup menuRoot;
     private View menuOverlay;
     private int closedTranslation;
+    private int closedTranslationUpdateCount;
+    private boolean isAnimationRebuildPending;
     private View.OnLayoutChangeListener menuRootLayoutChangeListener;
+    private Choreographer.FrameCallback animationRebuildFrameCallback;
     private AnimationProvider overlayOpenAnimationProvider;
     private AnimationProvider overlayCloseAnimationProvider;
+    private PropertyAnimationProvider overlayOpenPropertyAnimationProvider;
+    private PropertyAnimationProvider overlayClosePropertyAnimationProvider;
+    private boolean isDragEnabled;
+    private boolean isDragging;
+    private boolean isSettling;
+    private float dragStartY;
+    private float dragStartTranslation;
+    private int touchSlop;
+    private int minFlingVelocity;
+    private int maxFlingVelocity;
+    private VelocityTracker velocityTracker;
+    private final int[] backgroundLocation = new int[2];
+    private View.OnTouchListener dragTouchListener;
+    private Spring settleSpring;
+    private TimeAnimator settleAnimator;
+    private boolean isBackdropEnabled;
+    private boolean isBackdropShown;
+    private float backdropScale;
+    private int backdropBlurRadius;
+    private boolean isBackdropCapturing;
+    private boolean isBackdropContentHidden;
+    private int backdropContentVisibility;
+    private Bitmap backdropBitmap;
+    private Drawable backdropDrawable;
+    private LayerDrawable backdropLayers;
+    private int backdropBottomInset;
+    private final Rect backdropSource = new Rect();
+    private final int[] backdropLocation = new int[2];
+    private Handler backdropHandler;
+    private PixelCopyCompat.Callback backdropCopyCallback;
+    private Drawable overlayBackground;
+    private int[] backdropPixels;
+    private int[] backdropBlurBuffer;
 
     public BottomFloatingMenuController(Activity activity) {
         super(activity);
+        ViewConfiguration configuration = ViewConfiguration.get(activity);
+        touchSlop = configuration.getScaledTouchSlop();
+        minFlingVelocity = configuration.getScaledMinimumFlingVelocity();
+        maxFlingVelocity = configuration.getScaledMaximumFlingVelocity();
+        dragTouchListener = new View.OnTouchListener() {
+            @Override
+            public boolean onTouch(View v, MotionEvent event) {
+                return onDragTouch(v, event);
+            }
+        };
+        backdropScale = DEFAULT_BACKDROP_SCALE;
+        backdropHandler = new Handler(Looper.getMainLooper());
+        backdropCopyCallback = new PixelCopyCompat.Callback() {
+            @Override
+            public void onPixelCopyFinished(boolean success) {
+                onBackdropCopied(success);
+            }
+        };
+        settleSpring = new Spring();
+        settleAnimator = new TimeAnimator();
+        settleAnimator.setTimeListener(new TimeAnimator.TimeListener() {
+            @Override
+            public void onTimeUpdate(TimeAnimator animation, long totalTime, long deltaTime) {
+                onSettleFrame(deltaTime);
+            }
+        });
         menuRootLayoutChangeListener = new View.OnLayoutChangeListener() {
             @Override
             public void onLayoutChange(View v, int left, int top, int right, int bottom, int oldLeft, int oldTop, int oldRight, int oldBottom) {
-                updateClosedTranslation();
+                updateClosedTranslation(false);
+            }
+        };
+        animationRebuildFrameCallback = new Choreographer.FrameCallback() {
+            @Override
+            public void doFrame(long frameTimeNanos) {
+                isAnimationRebuildPending = false;
+                rebuildAnimations();
             }
         };
     }
@@ -44,11 +133,145 @@ public class BottomFloatingMenuController extends BaseFloatingMenuController {
     public void setMenuRoot(ViewGroup menuRoot) {
         if (this.menuRoot != null) {
             this.menuRoot.removeOnLayoutChangeListener(menuRootLayoutChangeListener);
+
+            if (isDragEnabled) {
+                this.menuRoot.setOnTouchListener(null);
+            }
         }
 
         this.menuRoot = menuRoot;
         this.menuRoot.addOnLayoutChangeListener(menuRootLayoutChangeListener);
-        updateClosedTranslation();
+        updateClosedTranslation(true);
+
+        if (isDragEnabled) {
+            this.menuRoot.setOnTouchListener(dragTouchListener);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void openAnimated() {
+        flushAnimationRebuild();
+
+        if (isSettling) {
+            // a menu released by user heads to the opened state keeping it's velocity
+            settleInteraction(true);
+            settleSpring.setTarget(0f);
+        } else {
+            super.openAnimated();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void closeAnimated() {
+        flushAnimationRebuild();
+
+        if (isSettling) {
+            // a menu released by user heads to the closed state keeping it's velocity
+            settleInteraction(false);
+            settleSpring.setTarget(closedTranslation);
+        } else {
+            super.closeAnimated();
+        }
+    }
+
+    public boolean isDragEnabled() {
+        return isDragEnabled;
+    }
+
+    /**
+     * Enables or disables dragging a menu by a finger. When enabled, a closed menu can be
+     * dragged up from an open/close button and an opened menu can be dragged down by it's
+     * background. The menu follows the finger and then a spring settles it to an opened or
+     * closed state depending on where and how fast it has been released. Toggling a settling
+     * menu retargets the spring. Listeners get the same events as
+     * for animated opening or closing. Disabled by default.
+     *
+     * @param dragEnabled <code>true</code> to enable dragging
+     */
+    public void setDragEnabled(boolean dragEnabled) {
+        this.isDragEnabled = dragEnabled;
+        if (menuRoot != null) {
+            menuRoot.setOnTouchListener(dragEnabled ? dragTouchListener : null);
+        }
+
+        if (!dragEnabled && velocityTracker != null) {
+            velocityTracker.recycle();
+            velocityTracker = null;
+        }
+    }
+
+    public boolean isBackdropEnabled() {
+        return isBackdropEnabled;
+    }
+
+    /**
+     * Enables or disables a frozen backdrop under an opened menu. When enabled, activity
+     * content is copied from the window surface into a downsampled bitmap when a menu starts
+     * opening. The bitmap is shown under the menu overlay as soon as the copy is ready, and
+     * the content itself is made invisible while a menu is opened, so that list updates,
+     * progress bars etc. don't redraw content nobody can see clearly. The menu itself is left
+     * out of the copy. The bitmap is reused by next openings. A window can be copied on
+     * Android 8.0 and newer only, menus on older devices are opened without a backdrop.
+     * Disabled by default.
+     *
+     * @param backdropEnabled <code>true</code> to enable a frozen backdrop
+     * @see #setBackdropScale(float)
+     * @see #setBackdropBlurRadius(int)
+     */
+    public void setBackdropEnabled(boolean backdropEnabled) {
+        this.isBackdropEnabled = backdropEnabled;
+
+        if (!backdropEnabled && !isBackdropShown && !isBackdropCapturing
+                && backdropBitmap != null) {
+            backdropBitmap.recycle();
+            backdropBitmap = null;
+            backdropDrawable = null;
+            backdropLayers = null;
+            backdropPixels = null;
+            backdropBlurBuffer = null;
+        }
+    }
+
+    public float getBackdropScale() {
+        return backdropScale;
+    }
+
+    /**
+     * Specifies backdrop bitmap size relative to activity content size,
+     * {@link #DEFAULT_BACKDROP_SCALE} by default
+     *
+     * @param backdropScale a scale from 0.0f exclusive to 1.0f inclusive
+     */
+    public void setBackdropScale(float backdropScale) {
+        if (backdropScale <= 0f || backdropScale > 1f) {
+            throw new IllegalArgumentException("Backdrop scale has to be in (0, 1] range");
+        }
+
+        this.backdropScale = backdropScale;
+    }
+
+    public int getBackdropBlurRadius() {
+        return backdropBlurRadius;
+    }
+
+    /**
+     * Specifies blur radius of a backdrop in pixels of a downsampled bitmap. 0 by default,
+     * a backdrop is not blurred.
+     *
+     * @param backdropBlurRadius blur radius, 0 to disable blurring
+     */
+    public void setBackdropBlurRadius(int backdropBlurRadius) {
+        if (backdropBlurRadius < 0) {
+            throw new IllegalArgumentException("Backdrop blur radius can't be negative");
+        }
+
+        this.backdropBlurRadius = backdropBlurRadius;
     }
 
     public ViewGroup getMenuDecor() {
@@ -71,18 +294,308 @@ public class BottomFloatingMenuController extends BaseFloatingMenuController {
      * {@inheritDoc}
      */
     @Override
-    public void openAnimated() {
-        menuOverlay.startAnimation(overlayOpenAnimationProvider.get());
-        super.openAnimated();
+    public void setContainerOpenAnimationProvider(AnimationProvider openAnimationProvider) {
+        super.setContainerOpenAnimationProvider(openAnimationProvider);
+        rebuildAnimation(openAnimationProvider);
     }
 
     /**
      * {@inheritDoc}
      */
     @Override
-    public void closeAnimated() {
-        menuOverlay.startAnimation(overlayCloseAnimationProvider.get());
-        super.closeAnimated();
+    public void setContainerCloseAnimationProvider(AnimationProvider closeAnimationProvider) {
+        super.setContainerCloseAnimationProvider(closeAnimationProvider);
+        rebuildAnimation(closeAnimationProvider);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setContainerOpenPropertyAnimationProvider(
+            PropertyAnimationProvider openAnimationProvider) {
+        super.setContainerOpenPropertyAnimationProvider(openAnimationProvider);
+        updateAnimator(openAnimationProvider);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void setContainerClosePropertyAnimationProvider(
+            PropertyAnimationProvider closeAnimationProvider) {
+        super.setContainerClosePropertyAnimationProvider(closeAnimationProvider);
+        updateAnimator(closeAnimationProvider);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onStartOpenAnimation() {
+        if (getAnimationQuality() != QUALITY_FULL) {
+            // overlay just shows up
+            return;
+        }
+
+        if (overlayOpenPropertyAnimationProvider != null) {
+            promoteToHardwareLayer(menuOverlay);
+            startAnimator(overlayOpenPropertyAnimationProvider.get(menuOverlay));
+        } else if (overlayOpenAnimationProvider != null) {
+            promoteToHardwareLayer(menuOverlay);
+            startAnimation(menuOverlay, overlayOpenAnimationProvider.get());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onStartCloseAnimation() {
+        if (getAnimationQuality() != QUALITY_FULL) {
+            // overlay is hidden when the menu is closed
+            return;
+        }
+
+        if (overlayClosePropertyAnimationProvider != null) {
+            promoteToHardwareLayer(menuOverlay);
+            startAnimator(overlayClosePropertyAnimationProvider.get(menuOverlay));
+        } else if (overlayCloseAnimationProvider != null) {
+            promoteToHardwareLayer(menuOverlay);
+            startAnimation(menuOverlay, overlayCloseAnimationProvider.get());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected boolean onOpenCloseButtonTouch(View view, MotionEvent event) {
+        boolean isConsumed = super.onOpenCloseButtonTouch(view, event);
+        return onDragTouch(view, event) || isConsumed;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void prewarm() {
+        flushAnimationRebuild();
+        super.prewarm();
+
+        if (getState() == STATE_CLOSED && overlayOpenPropertyAnimationProvider != null) {
+            overlayOpenPropertyAnimationProvider.get(menuOverlay);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void cancelAnimation() {
+        // overlay animation is released to the pool by super class
+        if (menuOverlay != null) {
+            menuOverlay.clearAnimation();
+        }
+
+        super.cancelAnimation();
+        isDragging = false;
+
+        if (isSettling) {
+            isSettling = false;
+            settleAnimator.cancel();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onBeforeOpened() {
+        super.onBeforeOpened();
+        showBackdrop();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onAfterOpened() {
+        super.onAfterOpened();
+
+        if (isBackdropShown) {
+            hideBackdropContent();
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onBeforeClosed() {
+        super.onBeforeClosed();
+
+        showBackdropContent();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void onAfterClosed() {
+        super.onAfterClosed();
+        hideBackdrop();
+    }
+
+    private View getBackdropContent() {
+        return menuDecor.findViewById(R.id.quick_menu_content);
+    }
+
+    private void showBackdrop() {
+        // a menu reopened while closing keeps the backdrop it has, the window has a menu on it
+        if (!isBackdropEnabled || isBackdropShown || isBackdropCapturing || menuDecor == null
+                || menuRoot == null || menuOverlay == null || !PixelCopyCompat.isSupported()) {
+            return;
+        }
+
+        View content = getBackdropContent();
+
+        if (content == null || content.getWidth() == 0 || content.getHeight() == 0) {
+            return;
+        }
+
+        content.getLocationInWindow(backdropLocation);
+        int left = backdropLocation[0];
+        int top = backdropLocation[1];
+        int bottom = top + content.getHeight();
+        // a closed menu shows it's button over the bottom of the content, it mustn't be frozen
+        menuRoot.getLocationInWindow(backdropLocation);
+        int sourceBottom = Math.min(bottom, backdropLocation[1]);
+
+        if (sourceBottom <= top) {
+            return;
+        }
+
+        backdropSource.set(left, top, left + content.getWidth(), sourceBottom);
+        backdropBottomInset = bottom - sourceBottom;
+        int width = Math.max(1, Math.round(backdropSource.width() * backdropScale));
+        int height = Math.max(1, Math.round(backdropSource.height() * backdropScale));
+        prepareBackdropBitmap(width, height);
+        // the last frame of the window doesn't have an opening menu on it yet
+        isBackdropCapturing = PixelCopyCompat.request(getActivity().getWindow(), backdropSource,
+                backdropBitmap, backdropCopyCallback, backdropHandler);
+    }
+
+    private void onBackdropCopied(boolean success) {
+        isBackdropCapturing = false;
+        int state = getState();
+
+        if (!success || !isBackdropEnabled || menuOverlay == null
+                || (state != STATE_OPENING && state != STATE_OPENED)) {
+            return;
+        }
+
+        if (backdropBlurRadius > 0) {
+            int width = backdropBitmap.getWidth();
+            int height = backdropBitmap.getHeight();
+
+            if (backdropPixels == null || backdropPixels.length != width * height) {
+                backdropPixels = new int[width * height];
+                backdropBlurBuffer = new int[width * height];
+            }
+
+            backdropBitmap.getPixels(backdropPixels, 0, width, 0, 0, width, height);
+            BoxBlur.blur(backdropPixels, backdropBlurBuffer, width, height, backdropBlurRadius);
+            backdropBitmap.setPixels(backdropPixels, 0, width, 0, 0, width, height);
+        }
+
+        overlayBackground = menuOverlay.getBackground();
+        menuOverlay.setBackground(getBackdropLayers());
+        isBackdropShown = true;
+
+        if (state == STATE_OPENED) {
+            // the copy has come after the menu has been opened
+            hideBackdropContent();
+        }
+    }
+
+    /**
+     * Returns overlay background with a backdrop under it. Layers are built again only when
+     * the backdrop bitmap or the overlay background has been replaced.
+     */
+    private LayerDrawable getBackdropLayers() {
+        int layerCount = overlayBackground != null ? 2 : 1;
+
+        if (backdropLayers == null || backdropLayers.getNumberOfLayers() != layerCount
+                || backdropLayers.getDrawable(0) != backdropDrawable
+                || (overlayBackground != null
+                        && backdropLayers.getDrawable(1) != overlayBackground)) {
+            backdropLayers = new LayerDrawable(overlayBackground != null
+                    ? new Drawable[] {backdropDrawable, overlayBackground}
+                    : new Drawable[] {backdropDrawable});
+        }
+
+        // the menu covers the part of the content which hasn't been copied
+        backdropLayers.setLayerInset(0, 0, 0, 0, backdropBottomInset);
+        return backdropLayers;
+    }
+
+    private void prepareBackdropBitmap(int width, int height) {
+        if (backdropBitmap != null && backdropBitmap.getWidth() == width
+                && backdropBitmap.getHeight() == height) {
+            return;
+        }
+
+        if (backdropBitmap != null) {
+            backdropBitmap.recycle();
+        }
+
+        backdropBitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        BitmapDrawable bitmapDrawable = new BitmapDrawable(getActivity().getResources(),
+                backdropBitmap);
+        bitmapDrawable.setFilterBitmap(true);
+        backdropDrawable = bitmapDrawable;
+    }
+
+    private void hideBackdrop() {
+        if (!isBackdropShown) {
+            return;
+        }
+
+        isBackdropShown = false;
+        menuOverlay.setBackground(overlayBackground);
+        overlayBackground = null;
+        showBackdropContent();
+    }
+
+    /**
+     * Backdrop covers the content, so it needn't be drawn until menu starts closing. Invisible
+     * content is left out of the rendering entirely, but keeps it's layout, so nothing moves
+     * when it's shown again.
+     */
+    private void hideBackdropContent() {
+        View content = getBackdropContent();
+
+        if (isBackdropContentHidden || content == null) {
+            return;
+        }
+
+        backdropContentVisibility = content.getVisibility();
+        content.setVisibility(View.INVISIBLE);
+        isBackdropContentHidden = true;
+    }
+
+    private void showBackdropContent() {
+        if (!isBackdropContentHidden) {
+            return;
+        }
+
+        isBackdropContentHidden = false;
+        View content = getBackdropContent();
+
+        if (content != null) {
+            content.setVisibility(backdropContentVisibility);
+        }
     }
 
     /**
@@ -91,6 +604,8 @@ public class BottomFloatingMenuController extends BaseFloatingMenuController {
     @Override
     protected void doOpen() {
         menuRoot.setTranslationY(0f);
+        menuRoot.setAlpha(1f);
+        menuOverlay.setAlpha(1f);
         menuOverlay.setVisibility(View.VISIBLE);
     }
 
@@ -100,7 +615,10 @@ public class BottomFloatingMenuController extends BaseFloatingMenuController {
     @Override
     protected void doClose() {
         applyClosedTranslation();
-        menuOverlay.setVisibility(View.GONE);
+        menuOverlay.setVisibility(getClosedVisibility());
+        // property animators leave their end values behind
+        menuRoot.setAlpha(1f);
+        menuOverlay.setAlpha(1f);
     }
 
     /**
@@ -136,6 +654,18 @@ public class BottomFloatingMenuController extends BaseFloatingMenuController {
         return closedTranslation;
     }
 
+    /**
+     * Returns how many times the closed translation has actually changed since this controller
+     * was created. Layout passes which leave menu container height intact are not counted.
+     * A closed menu gets a new translation right in the layout pass, while animations are
+     * rebuilt at most once per frame.
+     *
+     * @return number of closed translation updates
+     */
+    public int getClosedTranslationUpdateCount() {
+        return closedTranslationUpdateCount;
+    }
+
     public AnimationProvider getOverlayOpenAnimationProvider() {
         return overlayOpenAnimationProvider;
     }
@@ -152,16 +682,248 @@ public class BottomFloatingMenuController extends BaseFloatingMenuController {
         this.overlayCloseAnimationProvider = overlayCloseAnimationProvider;
     }
 
-    private void updateClosedTranslation() {
+    public PropertyAnimationProvider getOverlayOpenPropertyAnimationProvider() {
+        return overlayOpenPropertyAnimationProvider;
+    }
+
+    /**
+     * Sets a property animation provider for a window overlay to play while menu is being
+     * opened. Takes precedence over {@link #setOverlayOpenAnimationProvider(AnimationProvider)}.
+     *
+     * @param overlayOpenAnimationProvider property animation provider for window overlay
+     */
+    public void setOverlayOpenPropertyAnimationProvider(
+            PropertyAnimationProvider overlayOpenAnimationProvider) {
+        this.overlayOpenPropertyAnimationProvider = overlayOpenAnimationProvider;
+    }
+
+    public PropertyAnimationProvider getOverlayClosePropertyAnimationProvider() {
+        return overlayClosePropertyAnimationProvider;
+    }
+
+    /**
+     * Sets a property animation provider for a window overlay to play while menu is being
+     * closed. Takes precedence over {@link #setOverlayCloseAnimationProvider(AnimationProvider)}.
+     *
+     * @param overlayCloseAnimationProvider property animation provider for window overlay
+     */
+    public void setOverlayClosePropertyAnimationProvider(
+            PropertyAnimationProvider overlayCloseAnimationProvider) {
+        this.overlayClosePropertyAnimationProvider = overlayCloseAnimationProvider;
+    }
+
+    private boolean onDragTouch(View v, MotionEvent event) {
+        if (!isDragEnabled || menuRoot == null) {
+            return false;
+        }
+
+        switch (event.getActionMasked()) {
+            case MotionEvent.ACTION_DOWN:
+                isDragging = false;
+                dragStartY = event.getRawY();
+
+                if (velocityTracker == null) {
+                    velocityTracker = VelocityTracker.obtain();
+                } else {
+                    velocityTracker.clear();
+                }
+
+                addMovement(event);
+
+                if (v != menuRoot) {
+                    // a button keeps it's click
+                    return false;
+                }
+
+                // the rest of menu root is transparent, let touches reach activity content
+                return (getState() == STATE_OPENED || isSettling) && isInMenuBackground(event);
+
+            case MotionEvent.ACTION_MOVE:
+                addMovement(event);
+
+                if (!isDragging) {
+                    if (Math.abs(event.getRawY() - dragStartY) < touchSlop) {
+                        return false;
+                    }
+
+                    startDrag(v, event);
+                }
+
+                applyDragTranslation(dragStartTranslation + event.getRawY() - dragStartY);
+                return true;
+
+            case MotionEvent.ACTION_UP:
+            case MotionEvent.ACTION_CANCEL:
+                if (!isDragging) {
+                    return false;
+                }
+
+                addMovement(event);
+                isDragging = false;
+                velocityTracker.computeCurrentVelocity(1000, maxFlingVelocity);
+                settle(velocityTracker.getYVelocity());
+                return true;
+
+            default:
+                return isDragging;
+        }
+    }
+
+    private boolean isInMenuBackground(MotionEvent event) {
+        View background = getMenuBackground();
+
+        if (background == null) {
+            return false;
+        }
+
+        background.getLocationOnScreen(backgroundLocation);
+        float x = event.getRawX() - backgroundLocation[0];
+        float y = event.getRawY() - backgroundLocation[1];
+        return x >= 0 && y >= 0 && x < background.getWidth() && y < background.getHeight();
+    }
+
+    /**
+     * Menu background is a view holding a menu container, like a scroll view of the default
+     * bottom menu layout, or a container itself
+     */
+    private View getMenuBackground() {
+        View container = getMenuContainer();
+
+        if (container == null) {
+            return null;
+        }
+
+        ViewParent parent = container.getParent();
+        return (parent instanceof View && parent != menuRoot) ? (View) parent : container;
+    }
+
+    private void startDrag(View v, MotionEvent event) {
+        dragStartY = event.getRawY();
+        dragStartTranslation = menuRoot.getTranslationY();
+        beginInteraction();
+        isDragging = true;
+
+        if (!isStaggeredItemAnimationEnabled()) {
+            promoteToHardwareLayer(menuRoot);
+        }
+
+        promoteToHardwareLayer(menuOverlay);
+        ViewParent parent = v.getParent();
+
+        if (parent != null) {
+            parent.requestDisallowInterceptTouchEvent(true);
+        }
+
+        if (v != menuRoot) {
+            // the button must not be clicked when the finger is released
+            MotionEvent cancelEvent = MotionEvent.obtain(event);
+            cancelEvent.setAction(MotionEvent.ACTION_CANCEL);
+            v.onTouchEvent(cancelEvent);
+            cancelEvent.recycle();
+        }
+    }
+
+    private void applyDragTranslation(float translation) {
+        float clampedTranslation = Math.max(0f, Math.min(translation, closedTranslation));
+        float progress = closedTranslation > 0 ? 1f - clampedTranslation / closedTranslation : 1f;
+        menuRoot.setTranslationY(clampedTranslation);
+        menuOverlay.setAlpha(progress);
+        setInteractionProgress(progress);
+    }
+
+    /**
+     * A spring starts from the release position and velocity, so there is no jump in motion.
+     */
+    private void settle(float velocity) {
+        float translation = menuRoot.getTranslationY();
+        boolean isOpening = Math.abs(velocity) > minFlingVelocity ? velocity < 0
+                : translation < closedTranslation / 2f;
+        settleInteraction(isOpening);
+
+        settleSpring.setPosition(translation);
+        settleSpring.setVelocity(velocity);
+        settleSpring.setTarget(isOpening ? 0f : closedTranslation);
+        isSettling = true;
+        settleAnimator.start();
+    }
+
+    private void onSettleFrame(long deltaTime) {
+        if (!isSettling) {
+            return;
+        }
+
+        settleSpring.step(deltaTime / 1000f);
+
+        if (!settleSpring.isAtRest()) {
+            applyDragTranslation(settleSpring.getPosition());
+            return;
+        }
+
+        settleSpring.snapToTarget();
+        applyDragTranslation(settleSpring.getPosition());
+        isSettling = false;
+        settleAnimator.end();
+        endInteraction();
+    }
+
+    private void addMovement(MotionEvent event) {
+        // menu moves under the finger, so velocity is tracked in screen coordinates
+        float offsetX = event.getRawX() - event.getX();
+        float offsetY = event.getRawY() - event.getY();
+        event.offsetLocation(offsetX, offsetY);
+        velocityTracker.addMovement(event);
+        event.offsetLocation(-offsetX, -offsetY);
+    }
+
+    /**
+     * Layout callbacks may come many times per frame, e.g. during soft keyboard animations.
+     * We ignore those which don't change container height and handle the rest once per frame.
+     */
+    private void updateClosedTranslation(boolean force) {
         View container = getMenuContainer();
-        closedTranslation = (container != null) ? container.getHeight() : 0;
+        int newClosedTranslation = (container != null) ? container.getHeight() : 0;
+
+        if (newClosedTranslation == closedTranslation && !force) {
+            return;
+        }
+
+        closedTranslation = newClosedTranslation;
+        closedTranslationUpdateCount++;
 
         if (!isOpened() && menuRoot != null) {
+            // the frame drawn after this layout pass must not show a closed menu
             applyClosedTranslation();
         }
 
+        if (force) {
+            cancelAnimationRebuild();
+            rebuildAnimations();
+        } else if (!isAnimationRebuildPending) {
+            isAnimationRebuildPending = true;
+            Choreographer.getInstance().postFrameCallback(animationRebuildFrameCallback);
+        }
+    }
+
+    /**
+     * Rebuilds a pending animation right away, e.g. when it's going to be started
+     */
+    private void flushAnimationRebuild() {
+        if (isAnimationRebuildPending) {
+            cancelAnimationRebuild();
+            rebuildAnimations();
+        }
+    }
+
+    private void cancelAnimationRebuild() {
+        Choreographer.getInstance().removeFrameCallback(animationRebuildFrameCallback);
+        isAnimationRebuildPending = false;
+    }
+
+    private void rebuildAnimations() {
         rebuildAnimation(getContainerOpenAnimationProvider());
         rebuildAnimation(getContainerCloseAnimationProvider());
+        updateAnimator(getContainerOpenPropertyAnimationProvider());
+        updateAnimator(getContainerClosePropertyAnimationProvider());
     }
 
     private void rebuildAnimation(AnimationProvider animationProvider) {
@@ -170,6 +932,13 @@ public class BottomFloatingMenuController extends BaseFloatingMenuController {
         }
     }
 
+    private void updateAnimator(PropertyAnimationProvider animationProvider) {
+        if (animationProvider instanceof BottomMenuPropertyAnimationProvider) {
+            ((BottomMenuPropertyAnimationProvider) animationProvider)
+                    .setClosedTranslation(closedTranslation);
+        }
+    }
+
     private void applyClosedTranslation() {
         menuRoot.setTranslationY(closedTranslation);
     }
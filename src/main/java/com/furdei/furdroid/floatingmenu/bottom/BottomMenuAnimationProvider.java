@@ -3,7 +3,7 @@ package com.furdei.furdroid.floatingmenu.bottom;
 import com.furdei.furdroid.floatingmenu.AnimationProvider;
 
 /**
- * Animation provider which should rebuild animation when bottom menu layout changes.
+ * Animation provider which should update animation when bottom menu layout changes.
  *
  * @author Stepan Furdey
  */
@@ -15,7 +15,8 @@ public interface BottomMenuAnimationProvider extends AnimationProvider {
     public static final int DEFAULT_DURATION = 250;
 
     /**
-     * Rebuild animation using new Y translation in a closed state.
+     * Rebuild or update animation using new Y translation in a closed state. Called only when
+     * the closed translation changes.
      *
      * @param closedTranslation value applied to {@link android.view.View#setTranslationY(float)
      *                          setTranslationY} method in a 'menu closed' state.
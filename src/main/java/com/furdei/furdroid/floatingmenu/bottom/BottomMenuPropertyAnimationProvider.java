@@ -0,0 +1,19 @@
+package com.furdei.furdroid.floatingmenu.bottom;
+
+import com.furdei.furdroid.floatingmenu.PropertyAnimationProvider;
+
+/**
+ * Property animation provider which depends on Y translation of a bottom menu in a closed state.
+ *
+ * @author Stepan Furdey
+ */
+public interface BottomMenuPropertyAnimationProvider extends PropertyAnimationProvider {
+
+    /**
+     * Update animator using new Y translation in a closed state.
+     *
+     * @param closedTranslation value applied to {@link android.view.View#setTranslationY(float)
+     *                          setTranslationY} method in a 'menu closed' state.
+     */
+    void setClosedTranslation(float closedTranslation);
+}
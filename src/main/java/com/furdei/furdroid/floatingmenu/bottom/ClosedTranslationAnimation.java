@@ -0,0 +1,59 @@
+package com.furdei.furdroid.floatingmenu.bottom;
+
+import android.view.animation.Animation;
+import android.view.animation.Transformation;
+
+/**
+ * Translates a bottom menu along Y axis between it's opened and closed positions. Positions are
+ * given as fractions of the closed translation which is read when animation starts, so there is
+ * no need to rebuild animation every time menu layout changes.
+ *
+ * @author Stepan Furdey
+ */
+public class ClosedTranslationAnimation extends Animation {
+
+    private final float fromFraction;
+    private final float toFraction;
+    private float closedTranslation;
+    private float startClosedTranslation;
+
+    /**
+     * Creates a new animation
+     *
+     * @param fromFraction start position as a fraction of the closed translation, e.g. 1.0f for
+     *                     a closed menu
+     * @param toFraction end position as a fraction of the closed translation, e.g. 0.0f for
+     *                   an opened menu
+     */
+    public ClosedTranslationAnimation(float fromFraction, float toFraction) {
+        this.fromFraction = fromFraction;
+        this.toFraction = toFraction;
+    }
+
+    public float getClosedTranslation() {
+        return closedTranslation;
+    }
+
+    /**
+     * Specify Y translation of a menu in a closed state. Takes effect when animation starts
+     * next time.
+     *
+     * @param closedTranslation value applied to {@link android.view.View#setTranslationY(float)
+     *                          setTranslationY} method in a 'menu closed' state.
+     */
+    public void setClosedTranslation(float closedTranslation) {
+        this.closedTranslation = closedTranslation;
+    }
+
+    @Override
+    public void initialize(int width, int height, int parentWidth, int parentHeight) {
+        super.initialize(width, height, parentWidth, parentHeight);
+        startClosedTranslation = closedTranslation;
+    }
+
+    @Override
+    protected void applyTransformation(float interpolatedTime, Transformation t) {
+        float fraction = fromFraction + (toFraction - fromFraction) * interpolatedTime;
+        t.getMatrix().setTranslate(0f, startClosedTranslation * fraction);
+    }
+}
@@ -1,28 +1,35 @@
 package com.furdei.furdroid.floatingmenu.bottom;
 
-import android.view.animation.AccelerateInterpolator;
 import android.view.animation.AlphaAnimation;
 import android.view.animation.AnimationSet;
-import android.view.animation.TranslateAnimation;
 
+import com.furdei.furdroid.floatingmenu.animation.LookupTableInterpolator;
 import com.furdei.furdroid.floatingmenu.animation.StaticAnimationProvider;
 
 /**
- * Constructs close animation for bottom menu container
+ * Constructs close animation for bottom menu container. Animation is built once and only reads
+ * a new closed translation when menu layout changes.
  *
  * @author Stepan Furdey
  */
 public class ContainerCloseAnimationProvider extends StaticAnimationProvider
         implements BottomMenuAnimationProvider {
 
-    @Override
-    public void rebuildAnimation(float closedTranslation) {
+    private final ClosedTranslationAnimation translateAnimation;
+
+    public ContainerCloseAnimationProvider() {
+        translateAnimation = new ClosedTranslationAnimation(0f, 1f);
         AnimationSet closeAnimation = new AnimationSet(true);
         closeAnimation.addAnimation(new AlphaAnimation(1.0f, 0.5f));
-        closeAnimation.addAnimation(new TranslateAnimation(0f, 0f, 0f, closedTranslation));
+        closeAnimation.addAnimation(translateAnimation);
         closeAnimation.setDuration(DEFAULT_DURATION);
-        closeAnimation.setInterpolator(new AccelerateInterpolator());
+        closeAnimation.setInterpolator(LookupTableInterpolator.ACCELERATE);
         setAnimation(closeAnimation);
     }
 
+    @Override
+    public void rebuildAnimation(float closedTranslation) {
+        translateAnimation.setClosedTranslation(closedTranslation);
+    }
+
 }
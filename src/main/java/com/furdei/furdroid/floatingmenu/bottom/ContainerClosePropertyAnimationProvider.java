@@ -0,0 +1,40 @@
+package com.furdei.furdroid.floatingmenu.bottom;
+
+import android.animation.ObjectAnimator;
+import android.animation.PropertyValuesHolder;
+import android.animation.ValueAnimator;
+import android.view.View;
+
+import com.furdei.furdroid.floatingmenu.animation.BasePropertyAnimationProvider;
+import com.furdei.furdroid.floatingmenu.animation.LookupTableInterpolator;
+
+/**
+ * Constructs close animator for bottom menu container
+ *
+ * @author Stepan Furdey
+ */
+public class ContainerClosePropertyAnimationProvider extends BasePropertyAnimationProvider
+        implements BottomMenuPropertyAnimationProvider {
+
+    private float closedTranslation;
+    private PropertyValuesHolder translation;
+
+    @Override
+    public void setClosedTranslation(float closedTranslation) {
+        this.closedTranslation = closedTranslation;
+
+        if (translation != null) {
+            translation.setFloatValues(0f, closedTranslation);
+        }
+    }
+
+    @Override
+    protected ValueAnimator createAnimator(View view) {
+        translation = PropertyValuesHolder.ofFloat(View.TRANSLATION_Y, 0f, closedTranslation);
+        ObjectAnimator animator = ObjectAnimator.ofPropertyValuesHolder(view, translation,
+                PropertyValuesHolder.ofFloat(View.ALPHA, 1.0f, 0.5f));
+        animator.setDuration(BottomMenuAnimationProvider.DEFAULT_DURATION);
+        animator.setInterpolator(LookupTableInterpolator.ACCELERATE);
+        return animator;
+    }
+}
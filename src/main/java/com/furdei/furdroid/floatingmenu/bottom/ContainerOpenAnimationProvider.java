@@ -2,26 +2,33 @@ package com.furdei.furdroid.floatingmenu.bottom;
 
 import android.view.animation.AlphaAnimation;
 import android.view.animation.AnimationSet;
-import android.view.animation.DecelerateInterpolator;
-import android.view.animation.TranslateAnimation;
 
+import com.furdei.furdroid.floatingmenu.animation.LookupTableInterpolator;
 import com.furdei.furdroid.floatingmenu.animation.StaticAnimationProvider;
 
 /**
- * Constructs open animation for bottom menu container
+ * Constructs open animation for bottom menu container. Animation is built once and only reads
+ * a new closed translation when menu layout changes.
  *
  * @author Stepan Furdey
  */
 public class ContainerOpenAnimationProvider extends StaticAnimationProvider
         implements BottomMenuAnimationProvider {
 
-    @Override
-    public void rebuildAnimation(float closedTranslation) {
+    private final ClosedTranslationAnimation translateAnimation;
+
+    public ContainerOpenAnimationProvider() {
+        translateAnimation = new ClosedTranslationAnimation(1f, 0f);
         AnimationSet openAnimation = new AnimationSet(true);
         openAnimation.addAnimation(new AlphaAnimation(0.5f, 1.0f));
-        openAnimation.addAnimation(new TranslateAnimation(0f, 0f, closedTranslation, 0f));
+        openAnimation.addAnimation(translateAnimation);
         openAnimation.setDuration(DEFAULT_DURATION);
-        openAnimation.setInterpolator(new DecelerateInterpolator());
+        openAnimation.setInterpolator(LookupTableInterpolator.DECELERATE);
         setAnimation(openAnimation);
     }
+
+    @Override
+    public void rebuildAnimation(float closedTranslation) {
+        translateAnimation.setClosedTranslation(closedTranslation);
+    }
 }
@@ -0,0 +1,105 @@
+package com.furdei.furdroid.floatingmenu.icon;
+
+import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.ColorFilter;
+import android.graphics.Paint;
+import android.graphics.PixelFormat;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Menu icon drawn from a sub-rectangle of an {@link IconAtlas} page.
+ *
+ * @author Stepan Furdey
+ */
+public class AtlasIconDrawable extends Drawable {
+
+    private final IconAtlas atlas;
+    private final IconAtlas.Entry entry;
+    private final Paint paint;
+    private final Rect sourceBounds;
+    private int state;
+
+    AtlasIconDrawable(IconAtlas atlas, IconAtlas.Entry entry) {
+        this.atlas = atlas;
+        this.entry = entry;
+        this.paint = new Paint(Paint.FILTER_BITMAP_FLAG);
+        this.sourceBounds = new Rect();
+        this.state = IconRenderer.ICON_STATES.length - 1;
+    }
+
+    /**
+     * Re-tints all icons of the same atlas in place.
+     *
+     * @param colors new state-based tint colors
+     * @return this drawable
+     */
+    public AtlasIconDrawable retint(ColorStateList colors) {
+        atlas.setColors(colors);
+        invalidateSelf();
+        return this;
+    }
+
+    public IconAtlas getAtlas() {
+        return atlas;
+    }
+
+    @Override
+    public void draw(Canvas canvas) {
+        Bitmap page = atlas.getPage(entry);
+
+        if (page == null) {
+            // the atlas is packed once a menu is built, never while drawing
+            return;
+        }
+
+        entry.getStateBounds(state, sourceBounds);
+        canvas.drawBitmap(page, sourceBounds, getBounds(), paint);
+    }
+
+    @Override
+    public boolean isStateful() {
+        return true;
+    }
+
+    @Override
+    protected boolean onStateChange(int[] stateSet) {
+        int newState = IconRenderer.getStateIndex(stateSet);
+
+        if (newState != state) {
+            state = newState;
+            return true;
+        }
+
+        return false;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return entry.size;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return entry.size;
+    }
+
+    @Override
+    public void setAlpha(int alpha) {
+        paint.setAlpha(alpha);
+        invalidateSelf();
+    }
+
+    @Override
+    public void setColorFilter(ColorFilter colorFilter) {
+        paint.setColorFilter(colorFilter);
+        invalidateSelf();
+    }
+
+    @Override
+    public int getOpacity() {
+        return PixelFormat.TRANSLUCENT;
+    }
+}
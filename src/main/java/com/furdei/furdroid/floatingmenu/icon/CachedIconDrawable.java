@@ -0,0 +1,73 @@
+package com.furdei.furdroid.floatingmenu.icon;
+
+import android.content.res.ColorStateList;
+import android.graphics.Bitmap;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.StateListDrawable;
+
+/**
+ * Menu icon drawn from bitmaps pre-rendered by {@link IconCache}: one bitmap per tint state.
+ * Mirrors the states used by
+ * {@link com.furdei.furdroid.floatingmenu.internal.PaletteUtils#getIconColorState(int, int, int)
+ * PaletteUtils.getIconColorState}.
+ *
+ * @author Stepan Furdey
+ */
+public class CachedIconDrawable extends StateListDrawable {
+
+    private final IconCache iconCache;
+    private final Drawable source;
+    private final int size;
+
+    CachedIconDrawable(IconCache iconCache, Drawable source, int size, ColorStateList colors) {
+        this.iconCache = iconCache;
+        this.source = source;
+        this.size = size;
+
+        for (int[] state : IconRenderer.ICON_STATES) {
+            int color = colors.getColorForState(state, colors.getDefaultColor());
+            addState(state, new BitmapDrawable(iconCache.getResources(),
+                    iconCache.getBitmap(source, size, color)));
+        }
+    }
+
+    CachedIconDrawable(IconCache iconCache, Drawable source, int size, Bitmap[] stateBitmaps) {
+        this.iconCache = iconCache;
+        this.source = source;
+        this.size = size;
+
+        for (int i = 0; i < IconRenderer.ICON_STATES.length; i++) {
+            addState(IconRenderer.ICON_STATES[i],
+                    new BitmapDrawable(iconCache.getResources(), stateBitmaps[i]));
+        }
+    }
+
+    /**
+     * Creates the same icon tinted with other colors.
+     *
+     * @param colors new state-based tint colors
+     * @return a new icon drawable
+     */
+    public CachedIconDrawable retint(ColorStateList colors) {
+        return new CachedIconDrawable(iconCache, source, size, colors);
+    }
+
+    public Drawable getSourceDrawable() {
+        return source;
+    }
+
+    public int getSize() {
+        return size;
+    }
+
+    @Override
+    public int getIntrinsicWidth() {
+        return size;
+    }
+
+    @Override
+    public int getIntrinsicHeight() {
+        return size;
+    }
+}
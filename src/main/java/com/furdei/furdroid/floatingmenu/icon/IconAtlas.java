@@ -0,0 +1,298 @@
+package com.furdei.furdroid.floatingmenu.icon;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.PorterDuff;
+import android.graphics.Rect;
+import android.graphics.drawable.Drawable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * <p>
+ * Packs all icons of a menu into one or a few bitmaps (pages) so that showing a menu with lots
+ * of icons uploads a single texture instead of a texture per icon. Every icon is rendered at
+ * it's displayed size once per tint state, and each menu item draws it's own sub-rectangle of
+ * a page.
+ * </p><p>
+ * Icons are registered by {@link #getIcon(Drawable, int, ColorStateList)} while a menu is being
+ * built and are packed by {@link #pack()} afterwards. Icons draw nothing while an atlas is not
+ * packed, so packing never happens inside a draw pass. All icons of an atlas share the same tint
+ * colors: they are taken from the first registered icon or from {@link #setColors(ColorStateList)}.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public class IconAtlas {
+
+    /**
+     * Default page width and maximum page height in pixels
+     */
+    public static final int DEFAULT_PAGE_SIZE = 1024;
+
+    private final Resources resources;
+    private final int pageSize;
+    private final List<Entry> entries;
+    private final List<Bitmap> pages;
+    private ColorStateList colors;
+    private boolean isPacked;
+
+    public IconAtlas(Context context) {
+        this(context, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a new icon atlas.
+     *
+     * @param context context to get resources from
+     * @param pageSize page width and maximum page height in pixels
+     */
+    public IconAtlas(Context context, int pageSize) {
+        this.resources = context.getApplicationContext().getResources();
+        this.pageSize = pageSize;
+        this.entries = new ArrayList<Entry>();
+        this.pages = new ArrayList<Bitmap>(1);
+    }
+
+    /**
+     * Registers an icon in the atlas. Returned drawable draws nothing until the atlas is packed.
+     *
+     * @param source icon to render
+     * @param size icon size in pixels
+     * @param colors state-based tint colors. Must match colors of the atlas if they are set.
+     * @return icon drawable
+     * @throws IllegalArgumentException if colors differ from colors of the atlas
+     */
+    public AtlasIconDrawable getIcon(Drawable source, int size, ColorStateList colors) {
+        if (this.colors == null) {
+            this.colors = colors;
+        } else if (!isSameColors(this.colors, colors)) {
+            throw new IllegalArgumentException("All icons of an atlas must have the same colors");
+        }
+
+        Drawable.ConstantState constantState = source.getConstantState();
+        int entriesCount = entries.size();
+
+        for (int i = 0; i < entriesCount; i++) {
+            Entry entry = entries.get(i);
+
+            if (entry.size == size && constantState != null
+                    && constantState == entry.source.getConstantState()) {
+                return new AtlasIconDrawable(this, entry);
+            }
+        }
+
+        Entry entry = new Entry(source, size);
+        entries.add(entry);
+        isPacked = false;
+        return new AtlasIconDrawable(this, entry);
+    }
+
+    /**
+     * Lays out all registered icons into pages and renders them. Icons are placed into shelves:
+     * every icon takes a row of it's tint states. Pages of a previous pack are reused if their
+     * sizes match and are recycled otherwise.
+     */
+    public void pack() {
+        int shelfLeft = 0;
+        int shelfTop = 0;
+        int shelfHeight = 0;
+        int pageWidth = pageSize;
+        int page = 0;
+        List<Integer> pageHeights = new ArrayList<Integer>(1);
+        int entriesCount = entries.size();
+
+        for (int i = 0; i < entriesCount; i++) {
+            Entry entry = entries.get(i);
+            int width = entry.size * IconRenderer.ICON_STATES.length;
+            pageWidth = Math.max(pageWidth, width);
+
+            if (shelfLeft + width > pageWidth) {
+                shelfLeft = 0;
+                shelfTop += shelfHeight;
+                shelfHeight = 0;
+            }
+
+            if (shelfTop + entry.size > pageSize && shelfTop > 0) {
+                pageHeights.add(shelfTop);
+                page++;
+                shelfLeft = 0;
+                shelfTop = 0;
+                shelfHeight = 0;
+            }
+
+            entry.page = page;
+            entry.left = shelfLeft;
+            entry.top = shelfTop;
+            shelfLeft += width;
+            shelfHeight = Math.max(shelfHeight, entry.size);
+        }
+
+        if (shelfTop + shelfHeight > 0) {
+            pageHeights.add(shelfTop + shelfHeight);
+        }
+
+        int densityDpi = resources.getDisplayMetrics().densityDpi;
+        int pageCount = pageHeights.size();
+
+        for (int i = 0; i < pageCount; i++) {
+            int pageHeight = pageHeights.get(i);
+
+            if (i < pages.size()) {
+                Bitmap oldPage = pages.get(i);
+
+                if (oldPage.getWidth() == pageWidth && oldPage.getHeight() == pageHeight) {
+                    continue;
+                }
+
+                oldPage.recycle();
+            }
+
+            Bitmap bitmap = Bitmap.createBitmap(pageWidth, pageHeight, Bitmap.Config.ARGB_8888);
+            bitmap.setDensity(densityDpi);
+
+            if (i < pages.size()) {
+                pages.set(i, bitmap);
+            } else {
+                pages.add(bitmap);
+            }
+        }
+
+        while (pages.size() > pageCount) {
+            pages.remove(pages.size() - 1).recycle();
+        }
+
+        isPacked = true;
+        render();
+    }
+
+    /**
+     * Re-renders all icons with new tint colors in place. Pages and icon positions stay the same.
+     * An atlas having registered icons is packed if it is not packed yet.
+     *
+     * @param colors new state-based tint colors
+     */
+    public void setColors(ColorStateList colors) {
+        if (colors == this.colors) {
+            return;
+        }
+
+        this.colors = colors;
+
+        if (isPacked) {
+            render();
+        } else if (!entries.isEmpty()) {
+            pack();
+        }
+    }
+
+    public ColorStateList getColors() {
+        return colors;
+    }
+
+    public boolean isPacked() {
+        return isPacked;
+    }
+
+    /**
+     * @return number of pages, e.g. bitmaps, used by this atlas
+     */
+    public int getPageCount() {
+        return pages.size();
+    }
+
+    /**
+     * @return total size of pages in bytes
+     */
+    public int getByteCount() {
+        int byteCount = 0;
+
+        for (Bitmap page : pages) {
+            byteCount += page.getByteCount();
+        }
+
+        return byteCount;
+    }
+
+    /**
+     * Releases pages. Icons draw nothing until the atlas is packed again.
+     */
+    public void recycle() {
+        for (Bitmap page : pages) {
+            page.recycle();
+        }
+
+        pages.clear();
+        isPacked = false;
+    }
+
+    /**
+     * @return a page of an icon or <code>null</code> if the atlas is not packed
+     */
+    Bitmap getPage(Entry entry) {
+        return isPacked ? pages.get(entry.page) : null;
+    }
+
+    private void render() {
+        Canvas[] canvases = new Canvas[pages.size()];
+
+        for (int i = 0; i < canvases.length; i++) {
+            canvases[i] = new Canvas(pages.get(i));
+            canvases[i].drawColor(0, PorterDuff.Mode.CLEAR);
+        }
+
+        int entriesCount = entries.size();
+
+        for (int i = 0; i < entriesCount; i++) {
+            Entry entry = entries.get(i);
+
+            for (int state = 0; state < IconRenderer.ICON_STATES.length; state++) {
+                int color = colors.getColorForState(IconRenderer.ICON_STATES[state],
+                        colors.getDefaultColor());
+                IconRenderer.draw(canvases[entry.page], resources, entry.source,
+                        entry.left + state * entry.size, entry.top, entry.size, color);
+            }
+        }
+
+        for (Bitmap page : pages) {
+            page.prepareToDraw();
+        }
+    }
+
+    private static boolean isSameColors(ColorStateList colors, ColorStateList other) {
+        if (colors == other) {
+            return true;
+        }
+
+        for (int[] state : IconRenderer.ICON_STATES) {
+            if (colors.getColorForState(state, colors.getDefaultColor())
+                    != other.getColorForState(state, other.getDefaultColor())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    static final class Entry {
+        final Drawable source;
+        final int size;
+        int page;
+        int left;
+        int top;
+
+        Entry(Drawable source, int size) {
+            this.source = source;
+            this.size = size;
+        }
+
+        void getStateBounds(int state, Rect bounds) {
+            int stateLeft = left + state * size;
+            bounds.set(stateLeft, top, stateLeft + size, top + size);
+        }
+    }
+}
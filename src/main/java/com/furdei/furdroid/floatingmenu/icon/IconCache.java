@@ -0,0 +1,221 @@
+package com.furdei.furdroid.floatingmenu.icon;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.drawable.Drawable;
+import android.util.LruCache;
+
+/**
+ * <p>
+ * Memory-bounded LRU cache of menu icons rasterized at their displayed size and pre-tinted with
+ * a single color. Menu items showing cached icons draw plain bitmaps, so neither color filters
+ * nor vector rasterization take place while a menu is being animated.
+ * </p><p>
+ * Icons are keyed by icon source, size in pixels and tint color. An icon source is either
+ * a drawable resource identifier or a drawable's
+ * {@link android.graphics.drawable.Drawable.ConstantState ConstantState} which is shared by all
+ * drawables loaded from the same resource. The cache is safe to use from any thread.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public class IconCache {
+
+    /**
+     * Default cache size in bytes
+     */
+    public static final int DEFAULT_MAX_SIZE = 2 * 1024 * 1024;
+
+    private final Resources resources;
+    private final LruCache<IconKey, Bitmap> bitmaps;
+
+    public IconCache(Context context) {
+        this(context, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Creates a new icon cache.
+     *
+     * @param context context to get resources from
+     * @param maxSize maximum total size of cached bitmaps in bytes
+     */
+    public IconCache(Context context, int maxSize) {
+        this.resources = context.getApplicationContext().getResources();
+        this.bitmaps = new LruCache<IconKey, Bitmap>(maxSize) {
+            @Override
+            protected int sizeOf(IconKey key, Bitmap value) {
+                return value.getByteCount();
+            }
+        };
+    }
+
+    /**
+     * Creates an icon drawable which draws pre-tinted bitmaps: one per each state of
+     * <code>colors</code>.
+     *
+     * @param source icon to render
+     * @param size icon size in pixels
+     * @param colors state-based tint colors
+     * @return icon drawable
+     */
+    public CachedIconDrawable getIcon(Drawable source, int size, ColorStateList colors) {
+        return new CachedIconDrawable(this, source, size, colors);
+    }
+
+    /**
+     * Returns an icon rendered at a given size and tinted with a given color. The icon is
+     * rendered and put into the cache on a cache miss.
+     *
+     * @param source icon to render
+     * @param size icon size in pixels
+     * @param color tint color. Fully transparent color means no tint.
+     * @return rendered icon
+     */
+    public Bitmap getBitmap(Drawable source, int size, int color) {
+        IconKey key = new IconKey(getSourceKey(source), size, color);
+        Bitmap bitmap = bitmaps.get(key);
+
+        if (bitmap == null) {
+            bitmap = render(source, size, color);
+            bitmaps.put(key, bitmap);
+        }
+
+        return bitmap;
+    }
+
+    /**
+     * Returns an icon rendered from a drawable resource only if it is cached already.
+     *
+     * @param iconResId icon drawable resource
+     * @param size icon size in pixels
+     * @param color tint color
+     * @return cached icon or <code>null</code>
+     */
+    public Bitmap getCachedBitmap(int iconResId, int size, int color) {
+        return bitmaps.get(new IconKey(iconResId, size, color));
+    }
+
+    /**
+     * Puts an icon rendered from a drawable resource into the cache.
+     *
+     * @param iconResId icon drawable resource
+     * @param size icon size in pixels
+     * @param color tint color
+     * @param bitmap rendered icon
+     */
+    public void putBitmap(int iconResId, int size, int color, Bitmap bitmap) {
+        bitmaps.put(new IconKey(iconResId, size, color), bitmap);
+    }
+
+    /**
+     * Renders an icon without caching it.
+     *
+     * @param source icon to render
+     * @param size icon size in pixels
+     * @param color tint color. Fully transparent color means no tint.
+     * @return a new bitmap
+     */
+    public Bitmap render(Drawable source, int size, int color) {
+        Bitmap bitmap = Bitmap.createBitmap(size, size, Bitmap.Config.ARGB_8888);
+        bitmap.setDensity(resources.getDisplayMetrics().densityDpi);
+        IconRenderer.draw(new Canvas(bitmap), resources, source, 0, 0, size, color);
+        return bitmap;
+    }
+
+    /**
+     * Removes all icons from the cache
+     */
+    public void evictAll() {
+        bitmaps.evictAll();
+    }
+
+    /**
+     * Shrinks the cache down to a given size, evicting least recently used icons.
+     *
+     * @param maxSize maximum total size of cached bitmaps in bytes
+     */
+    public void trimToSize(int maxSize) {
+        bitmaps.trimToSize(maxSize);
+    }
+
+    /**
+     * @return total size of cached bitmaps in bytes
+     */
+    public int size() {
+        return bitmaps.size();
+    }
+
+    /**
+     * @return maximum total size of cached bitmaps in bytes
+     */
+    public int maxSize() {
+        return bitmaps.maxSize();
+    }
+
+    /**
+     * @return number of times a requested icon has been found in the cache
+     */
+    public int hitCount() {
+        return bitmaps.hitCount();
+    }
+
+    /**
+     * @return number of times a requested icon has not been found in the cache
+     */
+    public int missCount() {
+        return bitmaps.missCount();
+    }
+
+    /**
+     * @return number of icons evicted from the cache
+     */
+    public int evictionCount() {
+        return bitmaps.evictionCount();
+    }
+
+    Resources getResources() {
+        return resources;
+    }
+
+    private static Object getSourceKey(Drawable source) {
+        Drawable.ConstantState constantState = source.getConstantState();
+        return constantState != null ? constantState : source;
+    }
+
+    private static final class IconKey {
+        private final Object source;
+        private final int size;
+        private final int color;
+
+        IconKey(Object source, int size, int color) {
+            this.source = source;
+            this.size = size;
+            this.color = color;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+
+            if (!(o instanceof IconKey)) {
+                return false;
+            }
+
+            IconKey other = (IconKey) o;
+            return size == other.size && color == other.color && source.equals(other.source);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = source.hashCode();
+            result = 31 * result + size;
+            result = 31 * result + color;
+            return result;
+        }
+    }
+}
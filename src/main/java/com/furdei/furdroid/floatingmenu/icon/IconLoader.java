@@ -0,0 +1,377 @@
+package com.furdei.furdroid.floatingmenu.icon;
+
+import android.content.Context;
+import android.content.res.ColorStateList;
+import android.content.res.Resources;
+import android.content.res.XmlResourceParser;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.drawable.BitmapDrawable;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.os.AsyncTask;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.SparseIntArray;
+import android.util.TypedValue;
+import android.view.InflateException;
+import android.view.MenuItem;
+import android.widget.ImageView;
+
+import com.furdei.furdroid.components.graphics.drawable.TintedDrawable;
+
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.Executor;
+
+/**
+ * <p>
+ * Loads menu icons on a background executor instead of decoding them on the main thread.
+ * Bitmap resources are decoded right at the displayed icon size rather than at their density
+ * bucket size, then pre-tinted for every tint state and stored in an {@link IconCache}.
+ * </p><p>
+ * An icon view shows a transparent placeholder of the same size until it's icon arrives, so
+ * binding an icon does not cause a layout pass. Icon resources are resolved from a menu
+ * resource by {@link #resolveMenuIcons(int)} since menu items don't expose them.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public class IconLoader {
+
+    private static final String ANDROID_NAMESPACE = "http://schemas.android.com/apk/res/android";
+    private static final String TAG_ITEM = "item";
+    private static final String ATTR_ID = "id";
+    private static final String ATTR_ICON = "icon";
+    private static final int NO_TINT = 0;
+
+    private final Resources resources;
+    private final IconCache iconCache;
+    private final Executor executor;
+    private final Handler mainHandler;
+    private final SparseIntArray iconResIds;
+
+    public IconLoader(Context context) {
+        this(context, new IconCache(context), AsyncTask.THREAD_POOL_EXECUTOR);
+    }
+
+    /**
+     * Creates a new icon loader.
+     *
+     * @param context context to get resources from
+     * @param iconCache cache to store loaded icons
+     * @param executor executor to decode icons on
+     */
+    public IconLoader(Context context, IconCache iconCache, Executor executor) {
+        this.resources = context.getApplicationContext().getResources();
+        this.iconCache = iconCache;
+        this.executor = executor;
+        this.mainHandler = new Handler(Looper.getMainLooper());
+        this.iconResIds = new SparseIntArray();
+    }
+
+    /**
+     * Reads icon resources of menu items from a menu resource. Only items having both
+     * <code>android:id</code> and <code>android:icon</code> attributes can be loaded
+     * asynchronously.
+     *
+     * @param menuResId menu resource identifier
+     */
+    public void resolveMenuIcons(int menuResId) {
+        XmlResourceParser parser = resources.getXml(menuResId);
+
+        try {
+            int eventType = parser.getEventType();
+
+            while (eventType != XmlPullParser.END_DOCUMENT) {
+                if (eventType == XmlPullParser.START_TAG && TAG_ITEM.equals(parser.getName())) {
+                    int itemId = parser.getAttributeResourceValue(ANDROID_NAMESPACE, ATTR_ID, 0);
+                    int iconResId =
+                            parser.getAttributeResourceValue(ANDROID_NAMESPACE, ATTR_ICON, 0);
+
+                    if (itemId != 0 && iconResId != 0) {
+                        iconResIds.put(itemId, iconResId);
+                    }
+                }
+
+                eventType = parser.next();
+            }
+        } catch (XmlPullParserException e) {
+            throw new InflateException("Error reading menu icons", e);
+        } catch (IOException e) {
+            throw new InflateException("Error reading menu icons", e);
+        } finally {
+            parser.close();
+        }
+    }
+
+    /**
+     * Returns an icon resource of a menu item resolved by {@link #resolveMenuIcons(int)}.
+     *
+     * @param itemId menu item identifier
+     * @return icon resource identifier or 0 if unknown
+     */
+    public int getIconResId(int itemId) {
+        return iconResIds.get(itemId);
+    }
+
+    /**
+     * Binds an icon to an image view. If the icon is cached already it is bound immediately,
+     * otherwise a placeholder is shown while the icon is being loaded in background.
+     *
+     * @param imageView image view to bind an icon to. Must be called on the main thread.
+     * @param iconResId icon drawable resource
+     * @param size icon size in pixels
+     * @param colors state-based tint colors
+     */
+    public void load(ImageView imageView, int iconResId, int size, ColorStateList colors) {
+        load(imageView, iconResId, size, colors, null);
+    }
+
+    /**
+     * Binds an icon to an image view. If the icon is cached already it is bound immediately,
+     * otherwise a placeholder is shown while the icon is being loaded in background. If the
+     * icon resource can't be loaded, a tinted icon of <code>fallbackItem</code> is bound
+     * instead. The fallback icon is requested only in that case, since menu items decode their
+     * icons on demand. A placeholder keeps colors set by
+     * {@link com.furdei.furdroid.floatingmenu.base.BaseFloatingMenuController#setPalette(int, int, int, int)
+     * setPalette} while an icon is loading. If they have changed by the time the icon is
+     * loaded, the icon is rendered once more with the new colors in background.
+     *
+     * @param imageView image view to bind an icon to. Must be called on the main thread.
+     * @param iconResId icon drawable resource
+     * @param size icon size in pixels
+     * @param colors state-based tint colors
+     * @param fallbackItem a menu item whose icon is shown if the icon can't be loaded,
+     *                     or <code>null</code>
+     */
+    public void load(ImageView imageView, int iconResId, int size, ColorStateList colors,
+                     MenuItem fallbackItem) {
+        Bitmap[] cached = getCachedBitmaps(iconResId, size, colors);
+
+        if (cached != null) {
+            imageView.setImageDrawable(newIcon(size, cached));
+            return;
+        }
+
+        PlaceholderDrawable placeholder = new PlaceholderDrawable(size, colors);
+        imageView.setImageDrawable(placeholder);
+        loadAsync(imageView, placeholder, iconResId, size, colors, fallbackItem);
+    }
+
+    private void loadAsync(final ImageView imageView, final PlaceholderDrawable placeholder,
+                           final int iconResId, final int size, final ColorStateList colors,
+                           final MenuItem fallbackItem) {
+        executor.execute(new Runnable() {
+            @Override
+            public void run() {
+                Bitmap[] loaded;
+
+                try {
+                    loaded = loadBitmaps(iconResId, size, colors);
+                } catch (Resources.NotFoundException e) {
+                    loaded = null;
+                }
+
+                final Bitmap[] bitmaps = loaded;
+                mainHandler.post(new Runnable() {
+                    @Override
+                    public void run() {
+                        bind(imageView, placeholder, iconResId, size, colors, bitmaps,
+                                fallbackItem);
+                    }
+                });
+            }
+        });
+    }
+
+    private void bind(ImageView imageView, PlaceholderDrawable placeholder, int iconResId,
+                      int size, ColorStateList loadedColors, Bitmap[] bitmaps,
+                      MenuItem fallbackItem) {
+        if (imageView.getDrawable() != placeholder) {
+            // the view has got another icon while this one was loading
+            return;
+        }
+
+        if (bitmaps == null) {
+            Drawable fallback = fallbackItem != null ? fallbackItem.getIcon() : null;
+            imageView.setImageDrawable(fallback != null ?
+                    new TintedDrawable(fallback, placeholder.getColors()) : null);
+            return;
+        }
+
+        // palette could have been changed while the icon was loading
+        ColorStateList colors = placeholder.getColors();
+
+        if (colors == loadedColors) {
+            imageView.setImageDrawable(newIcon(size, bitmaps));
+            return;
+        }
+
+        Bitmap[] cached = getCachedBitmaps(iconResId, size, colors);
+
+        if (cached != null) {
+            imageView.setImageDrawable(newIcon(size, cached));
+        } else {
+            // the untinted icon is cached now, so only tinting is left to do
+            loadAsync(imageView, placeholder, iconResId, size, colors, fallbackItem);
+        }
+    }
+
+    public IconCache getIconCache() {
+        return iconCache;
+    }
+
+    /**
+     * Returns cached icons for every tint state followed by an untinted icon, or
+     * <code>null</code> if any of them is not cached.
+     */
+    private Bitmap[] getCachedBitmaps(int iconResId, int size, ColorStateList colors) {
+        Bitmap[] bitmaps = new Bitmap[IconRenderer.ICON_STATES.length + 1];
+
+        for (int i = 0; i < bitmaps.length; i++) {
+            bitmaps[i] = iconCache.getCachedBitmap(iconResId, size, getColor(colors, i));
+
+            if (bitmaps[i] == null) {
+                return null;
+            }
+        }
+
+        return bitmaps;
+    }
+
+    /**
+     * Loads icons for every tint state followed by an untinted icon
+     */
+    private Bitmap[] loadBitmaps(int iconResId, int size, ColorStateList colors) {
+        Bitmap[] bitmaps = new Bitmap[IconRenderer.ICON_STATES.length + 1];
+        int sourceIndex = bitmaps.length - 1;
+        bitmaps[sourceIndex] = iconCache.getCachedBitmap(iconResId, size, NO_TINT);
+
+        if (bitmaps[sourceIndex] == null) {
+            Bitmap decoded = decode(iconResId, size);
+            bitmaps[sourceIndex] = iconCache.render(decoded != null ?
+                    new BitmapDrawable(resources, decoded) : resources.getDrawable(iconResId),
+                    size, NO_TINT);
+            iconCache.putBitmap(iconResId, size, NO_TINT, bitmaps[sourceIndex]);
+        }
+
+        Drawable source = new BitmapDrawable(resources, bitmaps[sourceIndex]);
+
+        for (int i = 0; i < sourceIndex; i++) {
+            int color = getColor(colors, i);
+            bitmaps[i] = iconCache.getCachedBitmap(iconResId, size, color);
+
+            if (bitmaps[i] == null) {
+                bitmaps[i] = iconCache.render(source, size, color);
+                iconCache.putBitmap(iconResId, size, color, bitmaps[i]);
+            }
+        }
+
+        return bitmaps;
+    }
+
+    /**
+     * Decodes a bitmap resource scaling it down to fit a target size while decoding.
+     *
+     * @return a decoded bitmap or <code>null</code> if the resource is not a bitmap
+     */
+    private Bitmap decode(int iconResId, int size) {
+        BitmapFactory.Options options = new BitmapFactory.Options();
+        options.inJustDecodeBounds = true;
+        decodeStream(iconResId, options);
+
+        if (options.outWidth <= 0 || options.outHeight <= 0) {
+            return null;
+        }
+
+        int sourceSize = Math.max(options.outWidth, options.outHeight);
+        options.inJustDecodeBounds = false;
+        options.inSampleSize = 1;
+
+        while (sourceSize / (options.inSampleSize * 2) >= size) {
+            options.inSampleSize *= 2;
+        }
+
+        options.inScaled = true;
+        options.inDensity = sourceSize / options.inSampleSize;
+        options.inTargetDensity = size;
+        return decodeStream(iconResId, options);
+    }
+
+    private Bitmap decodeStream(int iconResId, BitmapFactory.Options options) {
+        InputStream stream;
+
+        try {
+            stream = resources.openRawResource(iconResId, new TypedValue());
+        } catch (Resources.NotFoundException e) {
+            return null;
+        }
+
+        try {
+            return BitmapFactory.decodeStream(stream, null, options);
+        } finally {
+            try {
+                stream.close();
+            } catch (IOException e) {
+                // nothing to do here
+            }
+        }
+    }
+
+    private CachedIconDrawable newIcon(int size, Bitmap[] bitmaps) {
+        Bitmap source = bitmaps[bitmaps.length - 1];
+        return new CachedIconDrawable(iconCache, new BitmapDrawable(resources, source), size,
+                bitmaps);
+    }
+
+    private static int getColor(ColorStateList colors, int state) {
+        return state < IconRenderer.ICON_STATES.length ?
+                colors.getColorForState(IconRenderer.ICON_STATES[state], colors.getDefaultColor()) :
+                NO_TINT;
+    }
+
+    /**
+     * Transparent drawable of an icon size. Keeps colors to tint an icon with when it arrives.
+     */
+    public static class PlaceholderDrawable extends ColorDrawable {
+
+        private final int size;
+        private ColorStateList colors;
+
+        PlaceholderDrawable(int size, ColorStateList colors) {
+            super(0);
+            this.size = size;
+            this.colors = colors;
+        }
+
+        public ColorStateList getColors() {
+            return colors;
+        }
+
+        /**
+         * Re-tints an icon being loaded. Placeholder is re-tinted in place, so the same
+         * drawable is returned.
+         *
+         * @param colors new colors
+         * @return this placeholder
+         */
+        public PlaceholderDrawable retint(ColorStateList colors) {
+            this.colors = colors;
+            return this;
+        }
+
+        @Override
+        public int getIntrinsicWidth() {
+            return size;
+        }
+
+        @Override
+        public int getIntrinsicHeight() {
+            return size;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.furdei.furdroid.floatingmenu.icon;
+
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.PorterDuff;
+import android.graphics.drawable.Drawable;
+
+/**
+ * Draws menu icons into bitmaps at their displayed size.
+ *
+ * @author Stepan Furdey
+ */
+class IconRenderer {
+
+    /**
+     * Tint states in the order they are matched. Mirrors
+     * {@link com.furdei.furdroid.floatingmenu.internal.PaletteUtils#getIconColorState(int, int, int)
+     * PaletteUtils.getIconColorState}.
+     */
+    static final int[][] ICON_STATES = new int[][] {
+            {android.R.attr.state_pressed},
+            {android.R.attr.state_focused},
+            {}};
+
+    private IconRenderer() {
+    }
+
+    /**
+     * Draws an icon into a square area of a canvas keeping icon's aspect ratio.
+     *
+     * @param canvas canvas to draw to
+     * @param resources resources to create a drawable copy with
+     * @param source icon to draw. It is not modified.
+     * @param left left edge of the area
+     * @param top top edge of the area
+     * @param size area size
+     * @param color tint color. Fully transparent color means no tint.
+     */
+    static void draw(Canvas canvas, Resources resources, Drawable source, int left, int top,
+                     int size, int color) {
+        Drawable.ConstantState constantState = source.getConstantState();
+        Drawable drawable = constantState != null ?
+                constantState.newDrawable(resources).mutate() : source;
+        int width = drawable.getIntrinsicWidth();
+        int height = drawable.getIntrinsicHeight();
+
+        if (width > 0 && height > 0 && width != height) {
+            // fit center keeping aspect ratio
+            float scale = Math.min((float) size / width, (float) size / height);
+            int scaledWidth = Math.round(width * scale);
+            int scaledHeight = Math.round(height * scale);
+            int scaledLeft = left + (size - scaledWidth) / 2;
+            int scaledTop = top + (size - scaledHeight) / 2;
+            drawable.setBounds(scaledLeft, scaledTop,
+                    scaledLeft + scaledWidth, scaledTop + scaledHeight);
+        } else {
+            drawable.setBounds(left, top, left + size, top + size);
+        }
+
+        if (Color.alpha(color) != 0) {
+            drawable.setColorFilter(color, PorterDuff.Mode.SRC_IN);
+        }
+
+        drawable.draw(canvas);
+
+        if (drawable == source) {
+            drawable.clearColorFilter();
+        }
+    }
+
+    /**
+     * Finds an index of {@link #ICON_STATES} item matching a drawable state.
+     *
+     * @param stateSet drawable state
+     * @return index of a matching tint state
+     */
+    static int getStateIndex(int[] stateSet) {
+        for (int i = 0; i < ICON_STATES.length; i++) {
+            if (android.util.StateSet.stateSetMatches(ICON_STATES[i], stateSet)) {
+                return i;
+            }
+        }
+
+        return ICON_STATES.length - 1;
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.furdei.furdroid.floatingmenu.internal;
+
+/**
+ * Helper class to blur small ARGB bitmaps on the main thread. Two box blur passes, horizontal
+ * and vertical, cost the same for any radius. Buffers are passed in to be reused.
+ *
+ * @author Stepan Furdey
+ */
+public class BoxBlur {
+
+    /**
+     * Blurs pixels in place
+     *
+     * @param pixels ARGB pixels of a bitmap
+     * @param buffer a buffer at least as large as <code>pixels</code>
+     * @param width bitmap width
+     * @param height bitmap height
+     * @param radius blur radius in pixels
+     */
+    public static void blur(int[] pixels, int[] buffer, int width, int height, int radius) {
+        if (radius <= 0) {
+            return;
+        }
+
+        blurPass(pixels, buffer, width, height, 1, width, radius);
+        blurPass(buffer, pixels, height, width, width, 1, radius);
+    }
+
+    /**
+     * Blurs every line of <code>source</code> into <code>target</code>
+     *
+     * @param length number of pixels in a line
+     * @param lines number of lines
+     * @param step distance between neighbour pixels of a line
+     * @param lineStep distance between first pixels of neighbour lines
+     */
+    private static void blurPass(int[] source, int[] target, int length, int lines, int step,
+                                 int lineStep, int radius) {
+        int window = radius * 2 + 1;
+
+        for (int line = 0; line < lines; line++) {
+            int lineStart = line * lineStep;
+            int a = 0;
+            int r = 0;
+            int g = 0;
+            int b = 0;
+
+            // edge pixels are repeated outside of a line
+            for (int i = -radius; i <= radius; i++) {
+                int color = source[lineStart + clamp(i, length) * step];
+                a += color >>> 24;
+                r += (color >> 16) & 0xFF;
+                g += (color >> 8) & 0xFF;
+                b += color & 0xFF;
+            }
+
+            for (int i = 0; i < length; i++) {
+                target[lineStart + i * step] = ((a / window) << 24) | ((r / window) << 16)
+                        | ((g / window) << 8) | (b / window);
+                int added = source[lineStart + clamp(i + radius + 1, length) * step];
+                int removed = source[lineStart + clamp(i - radius, length) * step];
+                a += (added >>> 24) - (removed >>> 24);
+                r += ((added >> 16) & 0xFF) - ((removed >> 16) & 0xFF);
+                g += ((added >> 8) & 0xFF) - ((removed >> 8) & 0xFF);
+                b += (added & 0xFF) - (removed & 0xFF);
+            }
+        }
+    }
+
+    private static int clamp(int index, int length) {
+        return index < 0 ? 0 : (index >= length ? length - 1 : index);
+    }
+}
@@ -0,0 +1,88 @@
+package com.furdei.furdroid.floatingmenu.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Pool of reusable objects grouped by an integer key, e.g. a resource id. An object handed out
+ * by {@link #obtain(int)} is busy until it's given back with {@link #release(Object)}. The pool
+ * keeps strong references to idle objects only, so an object which is never released is
+ * collected together with whoever uses it. Not thread safe.
+ *
+ * @author Stepan Furdey
+ */
+public abstract class KeyedPool<T> {
+
+    private final int maxIdleCount;
+    private final Map<Integer, List<T>> idleObjects;
+    private final Map<T, Integer> busyObjects;
+
+    /**
+     * @param maxIdleCount maximum number of idle objects kept per key
+     */
+    protected KeyedPool(int maxIdleCount) {
+        this.maxIdleCount = maxIdleCount;
+        this.idleObjects = new HashMap<Integer, List<T>>();
+        this.busyObjects = new WeakHashMap<T, Integer>();
+    }
+
+    /**
+     * Returns an idle object or a new one if there is no idle object for a key
+     *
+     * @param key object key
+     * @return an object nobody else uses
+     */
+    public T obtain(int key) {
+        List<T> idle = idleObjects.get(key);
+        T object = idle != null && !idle.isEmpty() ? idle.remove(idle.size() - 1) : create(key);
+        busyObjects.put(object, key);
+        return object;
+    }
+
+    /**
+     * Gives an object back to the pool. Objects which haven't been obtained from the pool or
+     * have been released already are ignored.
+     *
+     * @param object object to release
+     */
+    public void release(T object) {
+        Integer key = busyObjects.remove(object);
+
+        if (key == null) {
+            return;
+        }
+
+        reset(object);
+        List<T> idle = idleObjects.get(key);
+
+        if (idle == null) {
+            idle = new ArrayList<T>(maxIdleCount);
+            idleObjects.put(key, idle);
+        }
+
+        if (idle.size() < maxIdleCount) {
+            idle.add(object);
+        }
+    }
+
+    /**
+     * Forgets all the objects, busy objects are not given back to the pool any more
+     */
+    public void clear() {
+        idleObjects.clear();
+        busyObjects.clear();
+    }
+
+    /**
+     * Creates a new object for a key
+     */
+    protected abstract T create(int key);
+
+    /**
+     * Prepares a released object to be handed out again
+     */
+    protected abstract void reset(T object);
+}
@@ -0,0 +1,77 @@
+package com.furdei.furdroid.floatingmenu.internal;
+
+import java.util.Arrays;
+
+/**
+ * Copy-on-write array of listeners. Every change creates a new array, and a snapshot taken with
+ * {@link #getListeners()} never changes, so listeners can be added or removed while
+ * a snapshot is being dispatched, and dispatching allocates nothing.
+ *
+ * @author Stepan Furdey
+ */
+public class ListenerArray<T> {
+
+    private T[] listeners;
+
+    /**
+     * @param emptyArray an empty array of listener type
+     */
+    public ListenerArray(T[] emptyArray) {
+        this.listeners = emptyArray;
+    }
+
+    /**
+     * Returns current listeners. The array returned must not be modified.
+     *
+     * @return a snapshot of listeners in the order they have been added
+     */
+    public T[] getListeners() {
+        return listeners;
+    }
+
+    public boolean contains(T listener) {
+        return indexOf(listener) >= 0;
+    }
+
+    /**
+     * Adds a listener to the end of the array, if it's not there yet
+     *
+     * @param listener a listener to add
+     */
+    public void add(T listener) {
+        if (contains(listener)) {
+            return;
+        }
+
+        T[] newListeners = Arrays.copyOf(listeners, listeners.length + 1);
+        newListeners[listeners.length] = listener;
+        listeners = newListeners;
+    }
+
+    public void remove(T listener) {
+        int index = indexOf(listener);
+
+        if (index < 0) {
+            return;
+        }
+
+        T[] newListeners = Arrays.copyOf(listeners, listeners.length - 1);
+        System.arraycopy(listeners, index + 1, newListeners, index,
+                listeners.length - index - 1);
+        listeners = newListeners;
+    }
+
+    public void clear() {
+        listeners = Arrays.copyOf(listeners, 0);
+    }
+
+    private int indexOf(T listener) {
+        for (int i = 0; i < listeners.length; i++) {
+            if (listeners[i].equals(listener)) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
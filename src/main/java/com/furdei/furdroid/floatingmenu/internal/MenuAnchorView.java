@@ -18,6 +18,7 @@ public class MenuAnchorView extends View {
     public interface StateChangeListener {
         Parcelable onSaveInstanceState(Parcelable state);
         void onRestoreInstanceState(Parcelable state);
+        void onDetachedFromWindow();
     }
 
     private StateChangeListener stateChangeListener;
@@ -54,6 +55,15 @@ public class MenuAnchorView extends View {
         }
     }
 
+    @Override
+    protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+
+        if (stateChangeListener != null) {
+            stateChangeListener.onDetachedFromWindow();
+        }
+    }
+
     @Override
     protected void onMeasure(int widthMeasureSpec, int heightMeasureSpec) {
         setMeasuredDimension(0, 0);
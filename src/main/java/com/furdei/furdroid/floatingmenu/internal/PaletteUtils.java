@@ -1,6 +1,18 @@
 package com.furdei.furdroid.floatingmenu.internal;
 
 import android.content.res.ColorStateList;
+import android.graphics.Color;
+import android.graphics.drawable.ColorDrawable;
+import android.graphics.drawable.Drawable;
+import android.graphics.drawable.RippleDrawable;
+import android.view.View;
+import android.widget.ImageView;
+
+import com.furdei.furdroid.components.graphics.drawable.TintedDrawable;
+import com.furdei.furdroid.floatingmenu.R;
+import com.furdei.furdroid.floatingmenu.icon.AtlasIconDrawable;
+import com.furdei.furdroid.floatingmenu.icon.CachedIconDrawable;
+import com.furdei.furdroid.floatingmenu.icon.IconLoader;
 
 /**
  * Helper class to work with color palette
@@ -29,4 +41,96 @@ public class PaletteUtils {
         return new ColorStateList(states, colors);
     }
 
+    /**
+     * Sets a background for a menu item view and adds a ripple effect over it. The ripple is
+     * remembered so that {@link #retintMenuItem(View, ColorStateList, ColorStateList)} can
+     * update it's colors later without creating a new one.
+     *
+     * @param view menu item view
+     * @param background background drawable, may be tinted
+     * @param rippleColors ripple colors
+     */
+    public static void setRippleBackground(View view, Drawable background,
+                                           ColorStateList rippleColors) {
+        // without a background the ripple is masked to the view bounds
+        RippleDrawable ripple = new RippleDrawable(rippleColors, background,
+                background == null ? new ColorDrawable(Color.WHITE) : null);
+
+        if (background != null) {
+            ripple.setId(0, android.R.id.background);
+        }
+
+        view.setTag(R.integer.menuItemBackgroundTag, ripple);
+        view.setBackground(ripple);
+    }
+
+    /**
+     * Re-tints a menu item view: it's icon and, if the view has been set up by
+     * {@link #setRippleBackground(View, Drawable, ColorStateList)}, it's background and ripple.
+     * Nothing is inflated and drawables keep their sizes, so only an invalidation is caused.
+     *
+     * @param view menu item view
+     * @param iconColors new colors for tinted icons and backgrounds
+     * @param rippleColors new ripple colors
+     */
+    public static void retintMenuItem(View view, ColorStateList iconColors,
+                                      ColorStateList rippleColors) {
+        Object tag = view.getTag(R.integer.menuItemBackgroundTag);
+
+        if (tag instanceof RippleDrawable) {
+            RippleDrawable ripple = (RippleDrawable) tag;
+            ripple.setColor(rippleColors);
+            Drawable background = ripple.findDrawableByLayerId(android.R.id.background);
+            Drawable retinted = retint(background, iconColors);
+
+            if (retinted != null && retinted != background) {
+                ripple.setDrawableByLayerId(android.R.id.background, retinted);
+            }
+
+            ripple.invalidateSelf();
+        }
+
+        View icon = view.findViewById(R.id.floating_menu_item_icon);
+
+        if (icon instanceof ImageView) {
+            ImageView imageView = (ImageView) icon;
+            Drawable drawable = retint(imageView.getDrawable(), iconColors);
+
+            if (drawable != null && drawable != imageView.getDrawable()) {
+                imageView.setImageDrawable(drawable);
+            } else if (drawable != null) {
+                imageView.invalidate();
+            }
+        }
+    }
+
+    /**
+     * Creates a new tinted drawable around the same pattern as <code>drawable</code>.
+     *
+     * @param drawable a drawable to re-tint
+     * @param colors new colors
+     * @return a tinted drawable or <code>null</code> if <code>drawable</code> is not tinted.
+     *      Atlas icons and placeholders of loading icons are re-tinted in place, so the same
+     *      drawable is returned for them.
+     */
+    public static Drawable retint(Drawable drawable, ColorStateList colors) {
+        if (drawable instanceof TintedDrawable) {
+            return new TintedDrawable(((TintedDrawable) drawable).getPatternDrawable(), colors);
+        }
+
+        if (drawable instanceof CachedIconDrawable) {
+            return ((CachedIconDrawable) drawable).retint(colors);
+        }
+
+        if (drawable instanceof AtlasIconDrawable) {
+            return ((AtlasIconDrawable) drawable).retint(colors);
+        }
+
+        if (drawable instanceof IconLoader.PlaceholderDrawable) {
+            return ((IconLoader.PlaceholderDrawable) drawable).retint(colors);
+        }
+
+        return null;
+    }
+
 }
@@ -0,0 +1,137 @@
+package com.furdei.furdroid.floatingmenu.internal;
+
+import android.graphics.Bitmap;
+import android.graphics.Rect;
+import android.os.Build;
+import android.os.Handler;
+import android.view.Window;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+
+/**
+ * <p>
+ * Helper class to copy a part of a window surface into a bitmap with
+ * <code>PixelCopy</code>. Unlike drawing views into a software canvas, a copy is made by
+ * the GPU, works with hardware bitmaps and includes <code>TextureView</code> content.
+ * </p><p>
+ * Copying a part of a window requires Android 8.0, the first version with a source rectangle
+ * for windows. The library is compiled against an older platform, so <code>PixelCopy</code>
+ * is accessed through reflection.
+ * </p>
+ *
+ * @author Stepan Furdey
+ */
+public class PixelCopyCompat {
+
+    /**
+     * Receives a result of a copy
+     */
+    public interface Callback {
+
+        /**
+         * Called on the handler thread when a copy is over
+         *
+         * @param success <code>true</code> if the bitmap has been filled
+         */
+        void onPixelCopyFinished(boolean success);
+    }
+
+    private static final int WINDOW_SOURCE_RECT_API = 26;
+    private static final int SUCCESS = 0;
+
+    private static boolean isResolved;
+    private static Method requestMethod;
+    private static Class<?> listenerClass;
+
+    private PixelCopyCompat() {
+    }
+
+    /**
+     * Checks if a window can be copied on this device
+     *
+     * @return <code>true</code> if {@link #request(Window, Rect, Bitmap, Callback, Handler)}
+     * can succeed
+     */
+    public static boolean isSupported() {
+        resolve();
+        return requestMethod != null;
+    }
+
+    /**
+     * Starts copying a part of a window scaled to a bitmap size
+     *
+     * @param window source window
+     * @param source source rectangle in window coordinates
+     * @param bitmap mutable software bitmap to copy to
+     * @param callback callback to receive a result
+     * @param handler handler to call back on
+     * @return <code>true</code> if a copy has been started and <code>callback</code> is going to be
+     * called, <code>false</code> if a copy is impossible, e.g. a window has no surface yet
+     */
+    public static boolean request(Window window, Rect source, Bitmap bitmap,
+                                  final Callback callback, Handler handler) {
+        if (!isSupported()) {
+            return false;
+        }
+
+        Object listener = Proxy.newProxyInstance(listenerClass.getClassLoader(),
+                new Class<?>[] {listenerClass}, new InvocationHandler() {
+                    @Override
+                    public Object invoke(Object proxy, Method method, Object[] args) {
+                        if (method.getDeclaringClass() == Object.class) {
+                            return invokeObjectMethod(proxy, method, args);
+                        }
+
+                        callback.onPixelCopyFinished((Integer) args[0] == SUCCESS);
+                        return null;
+                    }
+                });
+
+        try {
+            requestMethod.invoke(null, window, source, bitmap, listener, handler);
+            return true;
+        } catch (InvocationTargetException e) {
+            // no surface, a destroyed window or a hardware bitmap
+            return false;
+        } catch (IllegalAccessException e) {
+            return false;
+        }
+    }
+
+    private static void resolve() {
+        if (isResolved) {
+            return;
+        }
+
+        isResolved = true;
+
+        if (Build.VERSION.SDK_INT < WINDOW_SOURCE_RECT_API) {
+            return;
+        }
+
+        try {
+            Class<?> pixelCopyClass = Class.forName("android.view.PixelCopy");
+            Class<?> listener = Class.forName("android.view.PixelCopy$OnPixelCopyFinishedListener");
+            requestMethod = pixelCopyClass.getMethod("request", Window.class, Rect.class,
+                    Bitmap.class, listener, Handler.class);
+            listenerClass = listener;
+        } catch (ReflectiveOperationException e) {
+            requestMethod = null;
+        }
+    }
+
+    private static Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        String name = method.getName();
+
+        if ("equals".equals(name)) {
+            return proxy == args[0];
+        } else if ("hashCode".equals(name)) {
+            return System.identityHashCode(proxy);
+        } else {
+            return "PixelCopyListener@" + Integer.toHexString(System.identityHashCode(proxy));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.furdei.furdroid.floatingmenu.layout;
 
+import android.view.ViewGroup;
+
 import com.furdei.furdroid.floatingmenu.MenuLayoutManager;
 
 /**
@@ -37,6 +39,26 @@ public abstract class BaseMenuLayoutManager implements MenuLayoutManager {
         this.colorAccent = colorAccent;
     }
 
+    /**
+     * Called by {@link com.furdei.furdroid.floatingmenu.FloatingMenuBuilder FloatingMenuBuilder}
+     * when a menu resource has been inflated, before any menu item is created. Does nothing
+     * by default.
+     *
+     * @param menuResId menu resource identifier
+     */
+    public void onMenuInflated(int menuResId) {
+    }
+
+    /**
+     * Called by {@link com.furdei.furdroid.floatingmenu.FloatingMenuBuilder FloatingMenuBuilder}
+     * after all menu items have been created and laid out into a menu container. Does nothing
+     * by default.
+     *
+     * @param menuContainer container view for menu items
+     */
+    public void onMenuBuilt(ViewGroup menuContainer) {
+    }
+
     public int getColorPrimary() {
         return colorPrimary;
     }
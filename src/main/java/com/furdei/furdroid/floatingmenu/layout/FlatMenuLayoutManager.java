@@ -9,8 +9,6 @@ import android.view.View;
 import android.view.ViewGroup;
 import android.widget.TextView;
 
-import dreamers.graphics.RippleDrawable;
-
 import com.furdei.furdroid.floatingmenu.R;
 import com.furdei.furdroid.components.graphics.drawable.TintedDrawable;
 import com.furdei.furdroid.floatingmenu.internal.PaletteUtils;
@@ -54,8 +52,8 @@ public class FlatMenuLayoutManager extends BaseMenuLayoutManager {
         if (background != null) {
             ColorStateList colorStateList = PaletteUtils.getIconColorState(
                     getColorPrimary(), getColorPrimaryDark(), getColorAccent());
-            item.setBackgroundDrawable(new TintedDrawable(background, colorStateList));
-            RippleDrawable.makeFor(item, PaletteUtils.getRippleColorState(getColorAccent()));
+            PaletteUtils.setRippleBackground(item, new TintedDrawable(background, colorStateList),
+                    PaletteUtils.getRippleColorState(getColorAccent()));
         }
 
         return item;
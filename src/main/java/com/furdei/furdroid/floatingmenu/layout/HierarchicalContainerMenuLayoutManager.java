@@ -1,6 +1,7 @@
 package com.furdei.furdroid.floatingmenu.layout;
 
 import android.content.Context;
+import android.content.res.ColorStateList;
 import android.graphics.drawable.Drawable;
 import android.view.LayoutInflater;
 import android.view.MenuItem;
@@ -9,10 +10,11 @@ import android.view.ViewGroup;
 import android.widget.ImageView;
 import android.widget.TextView;
 
-import dreamers.graphics.RippleDrawable;
-
 import com.furdei.furdroid.floatingmenu.R;
 import com.furdei.furdroid.components.graphics.drawable.TintedDrawable;
+import com.furdei.furdroid.floatingmenu.icon.IconAtlas;
+import com.furdei.furdroid.floatingmenu.icon.IconCache;
+import com.furdei.furdroid.floatingmenu.icon.IconLoader;
 import com.furdei.furdroid.floatingmenu.internal.PaletteUtils;
 
 /**
@@ -26,6 +28,9 @@ public class HierarchicalContainerMenuLayoutManager extends HierarchicalMenuLayo
     private final Context context;
     private final int itemLayoutResId;
     private final int groupLayoutResId;
+    private IconCache iconCache;
+    private IconAtlas iconAtlas;
+    private IconLoader iconLoader;
 
     public HierarchicalContainerMenuLayoutManager(Context context) {
         this(context, R.layout.simple_horizontal_menu_item, R.layout.simple_horizontal_menu_group);
@@ -48,21 +53,103 @@ public class HierarchicalContainerMenuLayoutManager extends HierarchicalMenuLayo
         View item = inflateTextMenuItem(itemLayoutResId, menuContainer, menuItem.getTitle());
         ImageView icon = (ImageView) item.findViewById(R.id.floating_menu_item_icon);
 
-        if (icon != null) {
+        int iconResId = (icon != null && iconLoader != null && iconAtlas == null) ?
+                iconLoader.getIconResId(menuItem.getItemId()) : 0;
+
+        if (iconResId != 0) {
+            iconLoader.load(icon, iconResId, getIconSize(icon), PaletteUtils.getIconColorState(
+                    getColorPrimary(), getColorPrimaryDark(), getColorAccent()), menuItem);
+        } else if (icon != null) {
             Drawable drawable = menuItem.getIcon();
 
             if (drawable != null) {
-                drawable = new TintedDrawable(drawable, PaletteUtils.getIconColorState(
-                        getColorPrimary(), getColorPrimaryDark(), getColorAccent()));
+                ColorStateList colorStateList = PaletteUtils.getIconColorState(
+                        getColorPrimary(), getColorPrimaryDark(), getColorAccent());
+
+                if (iconAtlas != null) {
+                    drawable = iconAtlas.getIcon(drawable, getIconSize(icon), colorStateList);
+                } else if (iconCache != null) {
+                    drawable = iconCache.getIcon(drawable, getIconSize(icon), colorStateList);
+                } else {
+                    drawable = new TintedDrawable(drawable, colorStateList);
+                }
+
                 icon.setImageDrawable(drawable);
             }
         }
 
-        RippleDrawable.makeFor(item, PaletteUtils.getRippleColorState(getColorAccent()));
+        PaletteUtils.setRippleBackground(item, item.getBackground(),
+                PaletteUtils.getRippleColorState(getColorAccent()));
 
         return item;
     }
 
+    public IconCache getIconCache() {
+        return iconCache;
+    }
+
+    /**
+     * Specifies a cache of pre-rendered icons. When a cache is set menu icons are rasterized
+     * once at their displayed size for every tint state, so animated menu items draw plain
+     * bitmaps instead of applying a color filter every frame. Icons are tinted on the fly
+     * if no cache is set, which is the default.
+     *
+     * @param iconCache icon cache or <code>null</code> to tint icons on the fly
+     */
+    public void setIconCache(IconCache iconCache) {
+        this.iconCache = iconCache;
+    }
+
+    public IconAtlas getIconAtlas() {
+        return iconAtlas;
+    }
+
+    /**
+     * Specifies an atlas to pack all menu icons into. Icons of a built menu are then drawn from
+     * one or a few bitmaps, which is worth it for menus with lots of icons. An atlas takes
+     * precedence over an icon cache. Use a separate atlas for every menu.
+     *
+     * @param iconAtlas icon atlas or <code>null</code> to draw every icon separately
+     */
+    public void setIconAtlas(IconAtlas iconAtlas) {
+        this.iconAtlas = iconAtlas;
+    }
+
+    public IconLoader getIconLoader() {
+        return iconLoader;
+    }
+
+    /**
+     * Specifies a loader to decode menu icons in background right at their displayed size.
+     * Menu items show a placeholder until their icons are loaded. Icons of items without
+     * an id are still loaded synchronously. An icon atlas takes precedence over an icon loader.
+     *
+     * @param iconLoader icon loader or <code>null</code> to load icons synchronously
+     */
+    public void setIconLoader(IconLoader iconLoader) {
+        this.iconLoader = iconLoader;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMenuInflated(int menuResId) {
+        if (iconLoader != null) {
+            iconLoader.resolveMenuIcons(menuResId);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onMenuBuilt(ViewGroup menuContainer) {
+        if (iconAtlas != null) {
+            iconAtlas.pack();
+        }
+    }
+
     @Override
     protected void addMenuGroup(ViewGroup menuContainer, MenuItem menuItem, View menuItemView) {
         menuContainer.addView(menuItemView);
@@ -79,6 +166,17 @@ public class HierarchicalContainerMenuLayoutManager extends HierarchicalMenuLayo
         }
     }
 
+    private int getIconSize(ImageView icon) {
+        ViewGroup.LayoutParams layoutParams = icon.getLayoutParams();
+
+        if (layoutParams != null && layoutParams.width > 0) {
+            return layoutParams.width;
+        }
+
+        return context.getResources().getDimensionPixelSize(
+                R.dimen.simple_horizontal_menu_icon_size);
+    }
+
     private View inflateTextMenuItem(int resId, ViewGroup container, CharSequence textHeader) {
         LayoutInflater inflater = (LayoutInflater)
                 context.getSystemService(Context.LAYOUT_INFLATER_SERVICE);
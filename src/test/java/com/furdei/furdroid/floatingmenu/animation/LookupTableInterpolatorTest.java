@@ -0,0 +1,83 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+import android.animation.TimeInterpolator;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Stepan Furdey
+ */
+public class LookupTableInterpolatorTest {
+
+    private static final TimeInterpolator SQUARE = new TimeInterpolator() {
+        @Override
+        public float getInterpolation(float input) {
+            return input * input;
+        }
+    };
+
+    @Test
+    public void returnsSamplesExactly() {
+        LookupTableInterpolator interpolator = new LookupTableInterpolator(SQUARE, 5);
+
+        assertEquals(0f, interpolator.getInterpolation(0f), 0f);
+        assertEquals(0.0625f, interpolator.getInterpolation(0.25f), 1e-6f);
+        assertEquals(0.25f, interpolator.getInterpolation(0.5f), 1e-6f);
+        assertEquals(1f, interpolator.getInterpolation(1f), 0f);
+    }
+
+    @Test
+    public void interpolatesLinearlyBetweenSamples() {
+        LookupTableInterpolator interpolator = new LookupTableInterpolator(SQUARE, 3);
+
+        // samples are 0, 0.25 and 1
+        assertEquals(0.125f, interpolator.getInterpolation(0.25f), 1e-6f);
+        assertEquals(0.625f, interpolator.getInterpolation(0.75f), 1e-6f);
+    }
+
+    @Test
+    public void clampsInputOutOfRange() {
+        LookupTableInterpolator interpolator = new LookupTableInterpolator(SQUARE, 3);
+
+        assertEquals(0f, interpolator.getInterpolation(-1f), 0f);
+        assertEquals(1f, interpolator.getInterpolation(2f), 0f);
+    }
+
+    @Test
+    public void defaultTablesFollowTheirCurves() {
+        for (int i = 0; i <= 100; i++) {
+            float input = i / 100f;
+            assertEquals(1f - (1f - input) * (1f - input),
+                    LookupTableInterpolator.DECELERATE.getInterpolation(input), 1e-4f);
+            assertEquals(input * input,
+                    LookupTableInterpolator.ACCELERATE.getInterpolation(input), 1e-4f);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsSingleSample() {
+        new LookupTableInterpolator(SQUARE, 1);
+    }
+
+    @Test
+    public void springInterpolatorSettlesAtOne() {
+        SpringInterpolator interpolator = new SpringInterpolator();
+        float maxValue = 0f;
+
+        for (int i = 0; i <= 100; i++) {
+            maxValue = Math.max(maxValue, interpolator.getInterpolation(i / 100f));
+        }
+
+        assertEquals(0f, interpolator.getInterpolation(0f), 0f);
+        assertEquals(1f, interpolator.getInterpolation(1f), 0f);
+        assertTrue(maxValue > 1f);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void springInterpolatorRejectsZeroDamping() {
+        new SpringInterpolator(0f);
+    }
+}
@@ -0,0 +1,89 @@
+package com.furdei.furdroid.floatingmenu.animation;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Stepan Furdey
+ */
+public class SpringTest {
+
+    private static final float FRAME = 1f / 60f;
+
+    @Test
+    public void settlesAtTarget() {
+        Spring spring = new Spring();
+        spring.setTarget(100f);
+
+        for (int i = 0; i < 120 && !spring.isAtRest(); i++) {
+            spring.step(FRAME);
+        }
+
+        assertTrue(spring.isAtRest());
+        assertEquals(100f, spring.getPosition(), Spring.DEFAULT_POSITION_THRESHOLD);
+    }
+
+    @Test
+    public void criticallyDampedSpringDoesNotOvershoot() {
+        Spring spring = new Spring(Spring.DEFAULT_STIFFNESS, 1f);
+        spring.setTarget(100f);
+
+        for (int i = 0; i < 120; i++) {
+            spring.step(FRAME);
+            assertTrue(spring.getPosition() <= 100f + 0.01f);
+        }
+    }
+
+    @Test
+    public void bouncySpringOvershoots() {
+        Spring spring = new Spring(Spring.DEFAULT_STIFFNESS, 0.3f);
+        spring.setTarget(100f);
+        float maxPosition = 0f;
+
+        for (int i = 0; i < 120; i++) {
+            spring.step(FRAME);
+            maxPosition = Math.max(maxPosition, spring.getPosition());
+        }
+
+        assertTrue(maxPosition > 100f);
+    }
+
+    @Test
+    public void retargetKeepsPositionAndVelocity() {
+        Spring spring = new Spring();
+        spring.setTarget(100f);
+        spring.step(0.05f);
+        float position = spring.getPosition();
+        float velocity = spring.getVelocity();
+
+        spring.setTarget(-100f);
+
+        assertEquals(position, spring.getPosition(), 0f);
+        assertEquals(velocity, spring.getVelocity(), 0f);
+        assertFalse(spring.isAtRest());
+    }
+
+    @Test
+    public void longStepIsStable() {
+        Spring spring = new Spring(10000f, 0.5f);
+        spring.setTarget(1f);
+        spring.step(2f);
+
+        assertEquals(1f, spring.getPosition(), 0.01f);
+    }
+
+    @Test
+    public void snapToTargetStopsSpring() {
+        Spring spring = new Spring();
+        spring.setVelocity(500f);
+        spring.setTarget(20f);
+        spring.snapToTarget();
+
+        assertEquals(20f, spring.getPosition(), 0f);
+        assertEquals(0f, spring.getVelocity(), 0f);
+        assertTrue(spring.isAtRest());
+    }
+}
@@ -0,0 +1,108 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Stepan Furdey
+ */
+public class MenuCommandQueueTest {
+
+    private final MenuCommandQueue queue = new MenuCommandQueue();
+
+    @Test
+    public void emptyQueueHasNoCommand() {
+        assertEquals(MenuCommandQueue.COMMAND_NONE, queue.take());
+    }
+
+    @Test
+    public void lastCommandWins() {
+        queue.post(MenuCommandQueue.COMMAND_OPEN);
+        queue.post(MenuCommandQueue.COMMAND_CLOSE);
+
+        assertEquals(MenuCommandQueue.COMMAND_CLOSE, queue.take());
+        assertEquals(MenuCommandQueue.COMMAND_NONE, queue.take());
+    }
+
+    @Test
+    public void toggleFlipsPendingCommand() {
+        queue.post(MenuCommandQueue.COMMAND_OPEN);
+        queue.postToggle();
+        assertEquals(MenuCommandQueue.COMMAND_CLOSE, queue.take());
+
+        queue.post(MenuCommandQueue.COMMAND_CLOSE);
+        queue.postToggle();
+        assertEquals(MenuCommandQueue.COMMAND_OPEN, queue.take());
+
+        queue.postToggle();
+        assertEquals(MenuCommandQueue.COMMAND_TOGGLE, queue.take());
+    }
+
+    @Test
+    public void twoTogglesCancelEachOther() {
+        queue.postToggle();
+        queue.postToggle();
+
+        assertEquals(MenuCommandQueue.COMMAND_NONE, queue.take());
+    }
+
+    @Test
+    public void scheduledOncePerTake() {
+        assertTrue(queue.post(MenuCommandQueue.COMMAND_OPEN));
+        assertFalse(queue.post(MenuCommandQueue.COMMAND_CLOSE));
+        assertFalse(queue.postToggle());
+
+        queue.take();
+
+        assertTrue(queue.postToggle());
+    }
+
+    @Test
+    public void clearDropsCommand() {
+        queue.post(MenuCommandQueue.COMMAND_OPEN);
+        queue.clear();
+
+        assertEquals(MenuCommandQueue.COMMAND_NONE, queue.take());
+        assertTrue(queue.post(MenuCommandQueue.COMMAND_CLOSE));
+    }
+
+    @Test
+    public void concurrentTogglesAreNotLost() throws InterruptedException {
+        final int threadCount = 4;
+        final int toggleCount = 10000;
+        final CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+
+                    for (int j = 0; j < toggleCount; j++) {
+                        queue.postToggle();
+                    }
+                }
+            });
+            threads[i].start();
+        }
+
+        start.countDown();
+
+        for (int i = 0; i < threadCount; i++) {
+            threads[i].join();
+        }
+
+        // an even number of toggles leaves nothing to do
+        assertEquals(MenuCommandQueue.COMMAND_NONE, queue.take());
+    }
+}
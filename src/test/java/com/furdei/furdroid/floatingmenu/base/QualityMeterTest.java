@@ -0,0 +1,124 @@
+package com.furdei.furdroid.floatingmenu.base;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author Stepan Furdey
+ */
+public class QualityMeterTest {
+
+    private static final long FRAME = 16666667L;
+    private static final long JANK_FRAME = 3 * FRAME;
+    private static final long JANK_FRAME_TIME =
+            (long) (AnimationQualityPolicy.JANK_FRAME_RATIO * FRAME);
+
+    private QualityMeter meter;
+
+    @Before
+    public void setUp() {
+        meter = new QualityMeter();
+    }
+
+    @Test
+    public void startsAtFullQuality() {
+        assertEquals(BaseFloatingMenuController.QUALITY_FULL, meter.getQuality());
+    }
+
+    @Test
+    public void smoothAnimationKeepsQuality() {
+        animate(20, 0);
+
+        assertEquals(BaseFloatingMenuController.QUALITY_FULL, meter.getQuality());
+    }
+
+    @Test
+    public void jankyAnimationDegradesQualityOneStep() {
+        animate(10, 5);
+
+        assertEquals(BaseFloatingMenuController.QUALITY_REDUCED, meter.getQuality());
+    }
+
+    @Test
+    public void degradationStopsAtMinimalQuality() {
+        for (int i = 0; i < 10; i++) {
+            animate(10, 10);
+        }
+
+        assertEquals(BaseFloatingMenuController.QUALITY_MINIMAL, meter.getQuality());
+    }
+
+    @Test
+    public void smoothAnimationsRecoverQuality() {
+        animate(10, 5);
+        animate(10, 5);
+
+        for (int i = 0; i < AnimationQualityPolicy.RECOVER_ANIMATION_COUNT - 1; i++) {
+            animate(20, 0);
+        }
+
+        assertEquals(BaseFloatingMenuController.QUALITY_MINIMAL, meter.getQuality());
+        animate(20, 0);
+        assertEquals(BaseFloatingMenuController.QUALITY_REDUCED, meter.getQuality());
+    }
+
+    @Test
+    public void jankyAnimationResetsRecovery() {
+        animate(10, 5);
+
+        for (int i = 0; i < AnimationQualityPolicy.RECOVER_ANIMATION_COUNT - 1; i++) {
+            animate(20, 0);
+        }
+
+        animate(10, 5);
+
+        for (int i = 0; i < AnimationQualityPolicy.RECOVER_ANIMATION_COUNT - 1; i++) {
+            animate(20, 0);
+        }
+
+        assertEquals(BaseFloatingMenuController.QUALITY_MINIMAL, meter.getQuality());
+    }
+
+    @Test
+    public void jankThresholdIsTakenPerAnimation() {
+        animate(20, 0, JANK_FRAME_TIME / 2);
+
+        assertEquals(BaseFloatingMenuController.QUALITY_REDUCED, meter.getQuality());
+        animate(20, 0);
+        assertEquals(BaseFloatingMenuController.QUALITY_REDUCED, meter.getQuality());
+    }
+
+    @Test
+    public void shortAnimationIsNotMeasured() {
+        animate(2, 2);
+
+        assertEquals(BaseFloatingMenuController.QUALITY_FULL, meter.getQuality());
+    }
+
+    /**
+     * Runs an animation of <code>frameCount</code> frames, the first <code>jankCount</code>
+     * of them are dropped
+     */
+    private void animate(int frameCount, int jankCount) {
+        animate(frameCount, jankCount, JANK_FRAME_TIME);
+    }
+
+    /**
+     * Same as {@link #animate(int, int)} on a display with a frame dropped after
+     * <code>jankFrameTime</code>
+     */
+    private void animate(int frameCount, int jankCount, long jankFrameTime) {
+        long frameTime = 1000000000L;
+        meter.onAnimationStart(jankFrameTime);
+        meter.onAnimationFrame(frameTime);
+
+        for (int i = 0; i < frameCount; i++) {
+            frameTime += i < jankCount ? JANK_FRAME : FRAME;
+            meter.onAnimationFrame(frameTime);
+        }
+
+        meter.onAnimationEnd();
+    }
+}
@@ -0,0 +1,72 @@
+package com.furdei.furdroid.floatingmenu.internal;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Stepan Furdey
+ */
+public class BoxBlurTest {
+
+    private static final int OPAQUE = 0xFF000000;
+
+    @Test
+    public void zeroRadiusKeepsPixels() {
+        int[] pixels = {OPAQUE | 10, OPAQUE | 20, OPAQUE | 30};
+
+        BoxBlur.blur(pixels, new int[3], 3, 1, 0);
+
+        assertArrayEquals(new int[] {OPAQUE | 10, OPAQUE | 20, OPAQUE | 30}, pixels);
+    }
+
+    @Test
+    public void uniformImageStaysTheSame() {
+        int[] pixels = new int[6 * 4];
+        Arrays.fill(pixels, 0x80402010);
+        int[] expected = pixels.clone();
+
+        BoxBlur.blur(pixels, new int[pixels.length], 6, 4, 2);
+
+        assertArrayEquals(expected, pixels);
+    }
+
+    @Test
+    public void averagesNeighboursWithRepeatedEdges() {
+        int[] pixels = {OPAQUE, OPAQUE | 90, OPAQUE};
+
+        BoxBlur.blur(pixels, new int[3], 3, 1, 1);
+
+        assertArrayEquals(new int[] {OPAQUE | 30, OPAQUE | 30, OPAQUE | 30}, pixels);
+    }
+
+    @Test
+    public void blursChannelsSeparately() {
+        int[] pixels = {0, 0xFF336699, 0};
+
+        BoxBlur.blur(pixels, new int[3], 1, 3, 1);
+
+        assertEquals(0x55112233, pixels[1]);
+    }
+
+    @Test
+    public void spreadsPointEvenlyInBothDirections() {
+        int size = 5;
+        int[] pixels = new int[size * size];
+        Arrays.fill(pixels, OPAQUE);
+        pixels[2 * size + 2] = OPAQUE | 0xFF;
+
+        BoxBlur.blur(pixels, new int[pixels.length], size, size, 1);
+
+        int center = pixels[2 * size + 2] & 0xFF;
+        assertEquals(pixels[2 * size + 1], pixels[2 * size + 3]);
+        assertEquals(pixels[size + 2], pixels[3 * size + 2]);
+        assertEquals(pixels[2 * size + 1], pixels[size + 2]);
+        assertTrue(center > 0 && center < 0xFF);
+        assertEquals(OPAQUE, pixels[0]);
+    }
+}
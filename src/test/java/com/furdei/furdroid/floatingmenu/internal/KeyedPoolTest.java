@@ -0,0 +1,119 @@
+package com.furdei.furdroid.floatingmenu.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+/**
+ * @author Stepan Furdey
+ */
+public class KeyedPoolTest {
+
+    private static class Item {
+        final int key;
+        int resetCount;
+
+        Item(int key) {
+            this.key = key;
+        }
+    }
+
+    private static class ItemPool extends KeyedPool<Item> {
+        int createCount;
+
+        ItemPool(int maxIdleCount) {
+            super(maxIdleCount);
+        }
+
+        @Override
+        protected Item create(int key) {
+            createCount++;
+            return new Item(key);
+        }
+
+        @Override
+        protected void reset(Item item) {
+            item.resetCount++;
+        }
+    }
+
+    private final ItemPool pool = new ItemPool(2);
+
+    @Test
+    public void busyObjectIsNotHandedOutAgain() {
+        Item first = pool.obtain(1);
+        Item second = pool.obtain(1);
+
+        assertNotSame(first, second);
+        assertEquals(2, pool.createCount);
+    }
+
+    @Test
+    public void releasedObjectIsResetAndReused() {
+        Item item = pool.obtain(1);
+        pool.release(item);
+
+        assertSame(item, pool.obtain(1));
+        assertEquals(1, item.resetCount);
+        assertEquals(1, pool.createCount);
+    }
+
+    @Test
+    public void objectsAreKeptPerKey() {
+        Item item = pool.obtain(1);
+        pool.release(item);
+
+        Item other = pool.obtain(2);
+
+        assertNotSame(item, other);
+        assertEquals(2, other.key);
+    }
+
+    @Test
+    public void objectReleasedTwiceIsPooledOnce() {
+        Item item = pool.obtain(1);
+        pool.release(item);
+        pool.release(item);
+
+        assertSame(item, pool.obtain(1));
+        assertNotSame(item, pool.obtain(1));
+        assertEquals(1, item.resetCount);
+    }
+
+    @Test
+    public void foreignObjectIsIgnored() {
+        Item foreign = new Item(1);
+        pool.release(foreign);
+
+        assertNotSame(foreign, pool.obtain(1));
+        assertEquals(0, foreign.resetCount);
+    }
+
+    @Test
+    public void idleObjectsAreLimited() {
+        Item first = pool.obtain(1);
+        Item second = pool.obtain(1);
+        Item third = pool.obtain(1);
+        pool.release(first);
+        pool.release(second);
+        pool.release(third);
+        pool.createCount = 0;
+
+        pool.obtain(1);
+        pool.obtain(1);
+        pool.obtain(1);
+
+        assertEquals(1, pool.createCount);
+    }
+
+    @Test
+    public void clearForgetsBusyObjects() {
+        Item item = pool.obtain(1);
+        pool.clear();
+        pool.release(item);
+
+        assertNotSame(item, pool.obtain(1));
+    }
+}
@@ -0,0 +1,83 @@
+package com.furdei.furdroid.floatingmenu.internal;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author Stepan Furdey
+ */
+public class ListenerArrayTest {
+
+    private final ListenerArray<String> listeners = new ListenerArray<String>(new String[0]);
+
+    @Test
+    public void keepsOrderOfAdding() {
+        listeners.add("a");
+        listeners.add("b");
+        listeners.add("c");
+
+        assertArrayEquals(new String[] {"a", "b", "c"}, listeners.getListeners());
+    }
+
+    @Test
+    public void addsListenerOnce() {
+        listeners.add("a");
+        listeners.add("a");
+
+        assertEquals(1, listeners.getListeners().length);
+        assertTrue(listeners.contains("a"));
+    }
+
+    @Test
+    public void removesFromAnyPosition() {
+        listeners.add("a");
+        listeners.add("b");
+        listeners.add("c");
+
+        listeners.remove("b");
+        assertArrayEquals(new String[] {"a", "c"}, listeners.getListeners());
+
+        listeners.remove("a");
+        assertArrayEquals(new String[] {"c"}, listeners.getListeners());
+
+        listeners.remove("c");
+        assertEquals(0, listeners.getListeners().length);
+    }
+
+    @Test
+    public void ignoresUnknownListener() {
+        listeners.add("a");
+        String[] snapshot = listeners.getListeners();
+
+        listeners.remove("b");
+
+        assertSame(snapshot, listeners.getListeners());
+    }
+
+    @Test
+    public void snapshotDoesNotChange() {
+        listeners.add("a");
+        listeners.add("b");
+        String[] snapshot = listeners.getListeners();
+
+        listeners.remove("a");
+        listeners.add("c");
+        listeners.clear();
+
+        assertArrayEquals(new String[] {"a", "b"}, snapshot);
+        assertEquals(0, listeners.getListeners().length);
+        assertFalse(listeners.contains("b"));
+    }
+
+    @Test
+    public void readingDoesNotAllocate() {
+        listeners.add("a");
+
+        assertSame(listeners.getListeners(), listeners.getListeners());
+    }
+}